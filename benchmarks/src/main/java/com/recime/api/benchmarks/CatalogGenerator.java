@@ -0,0 +1,97 @@
+package com.recime.api.benchmarks;
+
+import com.recime.api.dto.RecipeRequest;
+import com.recime.api.entity.Ingredient;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic synthetic catalogs. Ingredient popularity is skewed (a few ingredients appear in
+ * most recipes, most in few), so ingredient filters see both very selective and very broad matches.
+ */
+final class CatalogGenerator {
+
+    static final int VOCABULARY = 2_000;
+
+    static final String[] STEPS = {
+            "Simmer gently for twenty minutes", "Bake until golden", "Toss everything together and season",
+            "Fry over high heat", "Blend until smooth", "Grill on both sides and rest before slicing"
+    };
+
+    private static final int BATCH = 10_000;
+
+    private CatalogGenerator() {
+    }
+
+    static String ingredientName(int index) {
+        return "Ingredient " + index;
+    }
+
+    // Request with the given number of ingredients, the same for the same id
+    static RecipeRequest request(long id, int ingredients) {
+        Random random = new Random(id);
+        return RecipeRequest.builder()
+                .title("Recipe " + id)
+                .description("Generated recipe number " + id)
+                .ingredients(pickIngredients(random, ingredients))
+                .instructions(STEPS[random.nextInt(STEPS.length)])
+                .vegetarian(random.nextInt(3) == 0)
+                .servings(1 + random.nextInt(8))
+                .build();
+    }
+
+    /**
+     * Inserts the ingredient vocabulary and {@code recipes} recipes with 4 to 12 ingredients each,
+     * straight through JDBC batches into the schema Hibernate created.
+     */
+    static void seed(JdbcTemplate jdbcTemplate, int recipes) {
+        List<Object[]> ingredientRows = new ArrayList<>(VOCABULARY);
+        for (int i = 0; i < VOCABULARY; i++) {
+            ingredientRows.add(new Object[]{i + 1, ingredientName(i), Ingredient.normalize(ingredientName(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO ingredient_catalog (id, name, normalized_name) VALUES (?, ?, ?)", ingredientRows);
+
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> recipeRows = new ArrayList<>(BATCH);
+        List<Object[]> linkRows = new ArrayList<>(BATCH * 8);
+        for (long id = 1; id <= recipes; id++) {
+            Random random = new Random(id);
+            RecipeRequest request = request(id, 4 + random.nextInt(9));
+            recipeRows.add(new Object[]{id, request.getTitle(), request.getDescription(), request.getInstructions(),
+                    request.getVegetarian(), request.getServings(), createdAt});
+            List<String> names = request.getIngredients();
+            for (int position = 0; position < names.size(); position++) {
+                linkRows.add(new Object[]{id, indexOf(names.get(position)) + 1, position});
+            }
+            if (recipeRows.size() == BATCH || id == recipes) {
+                jdbcTemplate.batchUpdate("INSERT INTO recipes (id, title, description, instructions, vegetarian, servings, "
+                        + "created_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)", recipeRows);
+                jdbcTemplate.batchUpdate("INSERT INTO recipe_ingredient (recipe_id, ingredient_id, ingredient_position) "
+                        + "VALUES (?, ?, ?)", linkRows);
+                recipeRows.clear();
+                linkRows.clear();
+            }
+        }
+    }
+
+    private static List<String> pickIngredients(Random random, int count) {
+        Set<String> names = new LinkedHashSet<>();
+        while (names.size() < count) {
+            // Cubing a uniform value piles the picks up at the low (popular) indexes
+            double skewed = Math.pow(random.nextDouble(), 3);
+            names.add(ingredientName((int) (skewed * VOCABULARY)));
+        }
+        return new ArrayList<>(names);
+    }
+
+    private static int indexOf(String name) {
+        return Integer.parseInt(name.substring("Ingredient ".length()));
+    }
+}
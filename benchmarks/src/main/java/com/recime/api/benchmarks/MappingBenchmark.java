@@ -0,0 +1,70 @@
+package com.recime.api.benchmarks;
+
+import com.recime.api.controller.RecipeMapper;
+import com.recime.api.dto.RecipeDTO;
+import com.recime.api.dto.RecipeRequest;
+import com.recime.api.dto.RecipeView;
+import com.recime.api.entity.Recipe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request/entity/DTO conversions done on every read and write, by ingredient list length.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"5", "20", "50"})
+    private int ingredients;
+
+    private RecipeRequest request;
+    private Recipe recipe;
+    private RecipeView view;
+
+    @Setup
+    public void setUp() {
+        request = CatalogGenerator.request(1L, ingredients);
+        recipe = RecipeMapper.toEntity(request);
+        recipe.setId(1L);
+        recipe.setVersion(0L);
+        view = new RecipeView(1L, request.getTitle(), request.getDescription(), request.getIngredients(),
+                request.getInstructions(), request.getVegetarian(), request.getServings(), null, null, 0L);
+    }
+
+    @Benchmark
+    public Recipe toEntity() {
+        return RecipeMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public RecipeDTO toDTOFromEntity() {
+        return RecipeMapper.toDTO(recipe);
+    }
+
+    @Benchmark
+    public RecipeDTO toDTOFromView() {
+        return RecipeMapper.toDTO(view);
+    }
+
+    @Benchmark
+    public List<String> getIngredientNames() {
+        return recipe.getIngredientNames();
+    }
+}
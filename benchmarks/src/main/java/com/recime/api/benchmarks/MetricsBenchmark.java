@@ -0,0 +1,89 @@
+package com.recime.api.benchmarks;
+
+import com.recime.api.config.PaginationProperties;
+import com.recime.api.entity.Recipe;
+import com.recime.api.metrics.RecipeServiceMetrics;
+import com.recime.api.service.RecipeService;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the recipe.service timers: the same RecipeService call with and without the metrics
+ * aspect, recording into a Prometheus registry with the histogram settings of
+ * application.properties. The call returns before touching the database, so the difference
+ * between {@code timed} and {@code proxiedWithoutMetrics} is the aspect itself, and the difference
+ * to {@code direct} adds the proxy that {@code @Transactional} already requires.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsBenchmark {
+
+    private RecipeService direct;
+    private RecipeService proxiedWithoutMetrics;
+    private RecipeService timed;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) TimeUnit.MICROSECONDS.toNanos(100))
+                        .maximumExpectedValue((double) TimeUnit.SECONDS.toNanos(10))
+                        .build()
+                        .merge(config);
+            }
+        });
+
+        direct = new RecipeService(null, new PaginationProperties(), null, null, null);
+        proxiedWithoutMetrics = proxy(null);
+        timed = proxy(new RecipeServiceMetrics(meterRegistry));
+    }
+
+    private RecipeService proxy(RecipeServiceMetrics metrics) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(direct);
+        proxyFactory.setProxyTargetClass(true);
+        if (metrics != null) {
+            proxyFactory.addAspect(metrics);
+        }
+        return proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public List<Recipe> direct() {
+        return direct.fullTextSearch(" ", 20);
+    }
+
+    @Benchmark
+    public List<Recipe> proxiedWithoutMetrics() {
+        return proxiedWithoutMetrics.fullTextSearch(" ", 20);
+    }
+
+    @Benchmark
+    public List<Recipe> timed() {
+        return timed.fullTextSearch(" ", 20);
+    }
+}
@@ -0,0 +1,116 @@
+package com.recime.api.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.recime.api.config.ResponseCacheProperties;
+import com.recime.api.controller.RecipeMapper;
+import com.recime.api.dto.RecipeDTO;
+import com.recime.api.dto.RecipeVersion;
+import com.recime.api.service.RecipeResponseCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RecipeResponseCache} with bodies on the heap against bodies in the off-heap arena, filled
+ * with a catalog larger than the cache. {@code get} reads random recipes; {@code churn} mixes reads
+ * with puts that keep evicting. Heap used after filling, and the collections run during the
+ * trial, are printed since JMH only reports times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g", "-XX:MaxDirectMemorySize=512m"})
+public class ResponseCacheBenchmark {
+
+    @Param({"HEAP", "OFF_HEAP"})
+    private ResponseCacheProperties.Storage storage;
+
+    @Param({"100000"})
+    private int recipes;
+
+    private RecipeResponseCache cache;
+    private RecipeDTO[] catalog;
+    private long collections;
+    private long collectionMillis;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setEnabled(true);
+        properties.setStorage(storage);
+        properties.setMaxSize(DataSize.ofMegabytes(128));
+        cache = new RecipeResponseCache(properties, objectMapper);
+
+        LocalDateTime now = LocalDateTime.now();
+        catalog = new RecipeDTO[recipes];
+        for (int i = 0; i < recipes; i++) {
+            RecipeDTO dto = RecipeMapper.toDTO(RecipeMapper.toEntity(CatalogGenerator.request(i, 12)));
+            dto.setId((long) i);
+            dto.setCreatedAt(now);
+            dto.setUpdatedAt(now);
+            catalog[i] = dto;
+        }
+        long heapBefore = heapUsed();
+        for (int i = 0; i < recipes; i++) {
+            cache.put(new RecipeVersion((long) i, 0L, now), catalog[i]);
+        }
+        System.out.printf("%n%s: heap used by the filled cache %d MB%n", storage, (heapUsed() - heapBefore) >> 20);
+        collections = collectionCount();
+        collectionMillis = collectionMillis();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n%s: %d collections, %d ms in GC%n", storage,
+                collectionCount() - collections, collectionMillis() - collectionMillis);
+    }
+
+    @Benchmark
+    public RecipeResponseCache.Entry get() {
+        return cache.get((long) ThreadLocalRandom.current().nextInt(recipes));
+    }
+
+    @Benchmark
+    public RecipeResponseCache.Entry churn() {
+        int id = ThreadLocalRandom.current().nextInt(recipes);
+        RecipeResponseCache.Entry entry = cache.get((long) id);
+        return entry != null ? entry : cache.put(new RecipeVersion((long) id, 0L, catalog[id].getUpdatedAt()), catalog[id]);
+    }
+
+    private static long heapUsed() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long collectionCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long collectionMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+}
@@ -0,0 +1,119 @@
+package com.recime.api.benchmarks;
+
+import com.recime.api.RecipeApiApplication;
+import com.recime.api.controller.RecipeMapper;
+import com.recime.api.dto.CursorPage;
+import com.recime.api.dto.RecipeDTO;
+import com.recime.api.service.RecipeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RecipeService searches against the full application context on embedded H2, seeded with
+ * generated catalogs. Each call maps the page to DTOs inside a read-only transaction, as a
+ * request would. The query cache is off so every call reaches the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class SearchBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int recipes;
+
+    private ConfigurableApplicationContext context;
+    private RecipeService recipeService;
+    private TransactionTemplate transactionTemplate;
+
+    private final List<String> popular = List.of(CatalogGenerator.ingredientName(0));
+    private final List<String> rare = List.of(CatalogGenerator.ingredientName(CatalogGenerator.VOCABULARY - 1));
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command-line arguments outrank the packaged application.properties
+        context = new SpringApplicationBuilder(RecipeApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.liquibase.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.com.recime.api=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        CatalogGenerator.seed(context.getBean(JdbcTemplate.class), recipes);
+        recipeService = context.getBean(RecipeService.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<RecipeDTO> firstPage() {
+        return search(null, null, null, null, null);
+    }
+
+    @Benchmark
+    public CursorPage<RecipeDTO> includePopularIngredient() {
+        return search(null, null, popular, null, null);
+    }
+
+    @Benchmark
+    public CursorPage<RecipeDTO> includeRareIngredient() {
+        return search(null, null, rare, null, null);
+    }
+
+    @Benchmark
+    public CursorPage<RecipeDTO> vegetarianExcludingPopularIngredient() {
+        return search(true, null, null, popular, null);
+    }
+
+    @Benchmark
+    public CursorPage<RecipeDTO> servingsAndContent() {
+        return search(null, 4, null, null, "golden");
+    }
+
+    @Benchmark
+    public CursorPage<RecipeDTO> includePopularIngredientViews() {
+        return transactionTemplate.execute(status ->
+                recipeService.searchRecipeViews(null, null, popular, null, null, null, 20).map(RecipeMapper::toDTO));
+    }
+
+    private CursorPage<RecipeDTO> search(Boolean vegetarian, Integer servings, List<String> include, List<String> exclude,
+                                         String content) {
+        return transactionTemplate.execute(status ->
+                recipeService.searchRecipes(vegetarian, servings, include, exclude, content, null, 20).map(RecipeMapper::toDTO));
+    }
+}
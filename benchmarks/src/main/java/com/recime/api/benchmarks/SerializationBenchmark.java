@@ -0,0 +1,79 @@
+package com.recime.api.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.recime.api.controller.RecipeMapper;
+import com.recime.api.dto.RecipeDTO;
+import com.recime.api.dto.RecipeRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Jackson work per response and request, with the ObjectMapper configured as Spring Boot does
+ * for the application (java.time support, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1", "20", "100"})
+    private int pageSize;
+
+    private ObjectWriter pageWriter;
+    private ObjectReader requestReader;
+    private List<RecipeDTO> page;
+    private byte[] requestJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        pageWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, RecipeDTO.class));
+        requestReader = objectMapper.readerFor(RecipeRequest.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        page = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> {
+                    RecipeDTO dto = RecipeMapper.toDTO(RecipeMapper.toEntity(CatalogGenerator.request(id, 8)));
+                    dto.setId(id);
+                    dto.setCreatedAt(now);
+                    dto.setUpdatedAt(now);
+                    return dto;
+                })
+                .toList();
+        requestJson = objectMapper.writeValueAsBytes(CatalogGenerator.request(1L, 8));
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public RecipeRequest deserializeRequest() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+}
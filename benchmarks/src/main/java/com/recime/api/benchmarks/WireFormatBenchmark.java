@@ -0,0 +1,94 @@
+package com.recime.api.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.recime.api.controller.RecipeMapper;
+import com.recime.api.dto.RecipeDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * JSON against the binary formats negotiated by the API (CBOR, Smile): encoding and decoding a
+ * page of {@code RecipeDTO}s with mappers configured like the application's converters. Encoded
+ * sizes are printed once per trial, since JMH only reports times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    public enum Format { JSON, CBOR, SMILE }
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private Format format;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectWriter pageWriter;
+    private ObjectReader pageReader;
+    private List<RecipeDTO> page;
+    private byte[] encodedPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        JsonFactory factory = switch (format) {
+            case JSON -> new JsonFactory();
+            case CBOR -> new CBORFactory();
+            case SMILE -> new SmileFactory();
+        };
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        pageWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, RecipeDTO.class));
+        pageReader = objectMapper.readerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, RecipeDTO.class));
+
+        LocalDateTime now = LocalDateTime.now();
+        page = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> {
+                    RecipeDTO dto = RecipeMapper.toDTO(RecipeMapper.toEntity(CatalogGenerator.request(id, 8)));
+                    dto.setId(id);
+                    dto.setCreatedAt(now);
+                    dto.setUpdatedAt(now);
+                    return dto;
+                })
+                .toList();
+        encodedPage = pageWriter.writeValueAsBytes(page);
+        System.out.printf("%n%s page of %d recipes: %d bytes%n", format, pageSize, encodedPage.length);
+    }
+
+    @Benchmark
+    public byte[] encodePage() throws IOException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<RecipeDTO> decodePage() throws IOException {
+        return pageReader.readValue(encodedPage);
+    }
+}
@@ -0,0 +1,101 @@
+#!/usr/bin/env bash
+# Read-path comparison of the servlet application (Tomcat + JPA) and this reactive one
+# (WebFlux + R2DBC). Both serve the same seeded catalog from one H2 server, each with 50
+# database connections, and take the same LoadDriver read load one after the other. The servlet
+# run has its response cache, read coalescing and Hibernate caches switched off, so every request
+# reaches the database on both sides. Run from the repository root:
+#
+#   reactive/compare.sh
+#
+# Knobs (environment): RECIPES (20000), CLIENTS (100), WARMUP (10), DURATION (60).
+# Reports are written to reactive/target/compare/{servlet,reactive}.txt.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RECIPES=${RECIPES:-20000}
+CLIENTS=${CLIENTS:-100}
+WARMUP=${WARMUP:-10}
+DURATION=${DURATION:-60}
+OUT=reactive/target/compare
+DB="$PWD/$OUT/db"
+
+rm -rf "$OUT"
+mkdir -p "$OUT"
+mvn -B -q install -DskipTests
+mvn -B -q test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/compare.classpath
+mvn -B -q -f reactive/pom.xml compile dependency:build-classpath -Dmdep.includeScope=test \
+    -Dmdep.outputFile=target/compare.classpath
+
+SERVLET_CP="target/classes:$(cat target/compare.classpath)"
+DRIVER_CP="target/test-classes:$SERVLET_CP"
+REACTIVE_CP="reactive/target/classes:$(cat reactive/target/compare.classpath)"
+
+PIDS=()
+cleanup() {
+    for pid in "${PIDS[@]}"; do
+        kill "$pid" 2>/dev/null || true
+    done
+}
+trap cleanup EXIT
+
+# Waits for the application at $1, started as process $2, to answer
+wait_for() {
+    until curl -sf -o /dev/null "$1/api/recipes?size=1"; do
+        if ! kill -0 "$2" 2>/dev/null; then
+            echo "Application for $1 exited, see $OUT" >&2
+            exit 1
+        fi
+        sleep 1
+    done
+}
+
+drive() {
+    java -cp "$DRIVER_CP" com.recime.api.loadtest.LoadDriver "url=$1" "${@:2}"
+}
+
+# r2dbc-h2 does not take tcp URLs, so an idle shell holds the database open with AUTO_SERVER and
+# both applications reach it through the TCP server H2 starts in the shell's process
+tail -f /dev/null | java -cp "$SERVLET_CP" org.h2.tools.Shell -url "jdbc:h2:file:$DB;AUTO_SERVER=TRUE" -user sa > "$OUT/h2.log" 2>&1 &
+PIDS+=($!)
+until [ -f "$DB.lock.db" ]; do
+    sleep 1
+done
+
+java -cp "$SERVLET_CP" com.recime.api.RecipeApiApplication \
+    --server.port=8080 \
+    "--spring.datasource.url=jdbc:h2:file:$DB;AUTO_SERVER=TRUE" \
+    --spring.datasource.driver-class-name=org.h2.Driver \
+    --spring.datasource.username=sa --spring.datasource.password= \
+    --spring.datasource.hikari.maximum-pool-size=50 \
+    --spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect \
+    --spring.jpa.hibernate.ddl-auto=create \
+    --spring.liquibase.enabled=false \
+    --spring.jpa.show-sql=false \
+    --spring.jpa.properties.hibernate.cache.use_second_level_cache=false \
+    --spring.jpa.properties.hibernate.cache.use_query_cache=false \
+    --recipe.response-cache.enabled=false \
+    --recipe.coalescing.enabled=false \
+    --logging.level.com.recime.api=WARN \
+    --logging.level.org.hibernate.SQL=WARN \
+    --logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN > "$OUT/servlet.log" 2>&1 &
+SERVLET_PID=$!
+PIDS+=($SERVLET_PID)
+wait_for http://localhost:8080 "$SERVLET_PID"
+
+# Seeds through the bulk endpoint; the one-second run afterwards is discarded
+drive http://localhost:8080 "recipes=$RECIPES" clients=1 warmup=0 duration=1 > "$OUT/seed.txt"
+
+drive http://localhost:8080 mix=read "clients=$CLIENTS" "warmup=$WARMUP" "duration=$DURATION" | tee "$OUT/servlet.txt"
+kill "$SERVLET_PID"
+wait "$SERVLET_PID" 2>/dev/null || true
+
+java -cp "$REACTIVE_CP" com.recime.api.reactive.ReactiveRecipeApplication \
+    --server.port=8081 \
+    "--spring.r2dbc.url=r2dbc:h2:file:///$DB;AUTO_SERVER=TRUE" \
+    --spring.r2dbc.username=sa --spring.r2dbc.password= > "$OUT/reactive.log" 2>&1 &
+REACTIVE_PID=$!
+PIDS+=($REACTIVE_PID)
+wait_for http://localhost:8081 "$REACTIVE_PID"
+
+drive http://localhost:8081 mix=read "clients=$CLIENTS" "warmup=$WARMUP" "duration=$DURATION" | tee "$OUT/reactive.txt"
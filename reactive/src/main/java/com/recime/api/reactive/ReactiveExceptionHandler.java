@@ -0,0 +1,42 @@
+package com.recime.api.reactive;
+
+import com.recime.api.exception.InvalidCursorException;
+import com.recime.api.exception.ResourceNotFoundException;
+import com.recime.api.exception.TooManyIdsException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+// Error bodies in the same shape as the servlet application's GlobalExceptionHandler
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+    
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        return error(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+    
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidCursorException(InvalidCursorException ex) {
+        return error(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+    
+    @ExceptionHandler(TooManyIdsException.class)
+    public ResponseEntity<Map<String, Object>> handleTooManyIdsException(TooManyIdsException ex) {
+        return error(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+    
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String message) {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("message", message);
+        errorDetails.put("status", status.value());
+        
+        return new ResponseEntity<>(errorDetails, status);
+    }
+}
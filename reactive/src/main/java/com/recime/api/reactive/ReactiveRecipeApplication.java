@@ -0,0 +1,15 @@
+package com.recime.api.reactive;
+
+import com.recime.api.config.PaginationProperties;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+@SpringBootApplication
+@EnableConfigurationProperties(PaginationProperties.class)
+public class ReactiveRecipeApplication {
+    
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveRecipeApplication.class, args);
+    }
+}
@@ -0,0 +1,117 @@
+package com.recime.api.reactive;
+
+import com.recime.api.config.PaginationProperties;
+import com.recime.api.controller.RecipeController;
+import com.recime.api.dto.RecipeDTO;
+import com.recime.api.dto.RecipeSummary;
+import com.recime.api.exception.ResourceNotFoundException;
+import com.recime.api.exception.TooManyIdsException;
+import com.recime.api.service.RecipeCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Same read contract as the servlet RecipeController: paths, filters, summaries, reads by id,
+ * full-text search, cursor pagination through the X-Next-Cursor header and RecipeDTO bodies,
+ * served without a thread per in-flight query.
+ */
+@RestController
+@RequestMapping("/api/recipes")
+@RequiredArgsConstructor
+public class ReactiveRecipeController {
+    
+    private final ReactiveRecipeRepository recipeRepository;
+    private final PaginationProperties paginationProperties;
+    
+    @GetMapping("/{id}")
+    public Mono<RecipeDTO> getRecipeById(@PathVariable Long id) {
+        return recipeRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Recipe not found with id: " + id)));
+    }
+    
+    @GetMapping
+    public Mono<ResponseEntity<Flux<RecipeDTO>>> getAllRecipes(
+            @RequestParam(required = false) Boolean vegetarian,
+            @RequestParam(required = false) Integer servings,
+            @RequestParam(required = false) List<String> includeIngredients,
+            @RequestParam(required = false) List<String> excludeIngredients,
+            @RequestParam(required = false) String contentInstructions,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        
+        int pageSize = paginationProperties.resolvePageSize(size);
+        long afterId = RecipeCursor.decode(cursor);
+        return recipeRepository.findPage(vegetarian, servings, includeIngredients, excludeIngredients, contentInstructions,
+                        afterId, pageSize + 1)
+                .collectList()
+                .map(recipes -> toPage(recipes, pageSize, RecipeDTO::getId));
+    }
+    
+    @GetMapping(params = { "view=summary", "!ids" })
+    public Mono<ResponseEntity<Flux<RecipeSummary>>> getRecipeSummaries(
+            @RequestParam(required = false) Boolean vegetarian,
+            @RequestParam(required = false) Integer servings,
+            @RequestParam(required = false) List<String> includeIngredients,
+            @RequestParam(required = false) List<String> excludeIngredients,
+            @RequestParam(required = false) String contentInstructions,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        
+        int pageSize = paginationProperties.resolvePageSize(size);
+        long afterId = RecipeCursor.decode(cursor);
+        return recipeRepository.findSummaryPage(vegetarian, servings, includeIngredients, excludeIngredients, contentInstructions,
+                        afterId, pageSize + 1)
+                .collectList()
+                .map(summaries -> toPage(summaries, pageSize, RecipeSummary::id));
+    }
+    
+    @GetMapping(params = "ids")
+    public Flux<RecipeDTO> getRecipesByIds(@RequestParam List<Long> ids) {
+        return Mono.fromCallable(() -> checkIds(ids)).flatMapMany(recipeRepository::findByIds);
+    }
+    
+    @GetMapping("/search")
+    public Flux<RecipeDTO> fullTextSearch(@RequestParam String q, @RequestParam(required = false) Integer size) {
+        if (q.isBlank()) {
+            return Flux.empty();
+        }
+        return recipeRepository.fullTextSearch(q.trim(), paginationProperties.resolvePageSize(size));
+    }
+    
+    // One extra row tells whether another page exists; the header has to be known before the body starts
+    private static <T> ResponseEntity<Flux<T>> toPage(List<T> rows, int pageSize, Function<T, Long> id) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (rows.size() <= pageSize) {
+            return response.body(Flux.fromIterable(rows));
+        }
+        List<T> page = rows.subList(0, pageSize);
+        return response.header(RecipeController.NEXT_CURSOR_HEADER, RecipeCursor.encode(id.apply(page.get(pageSize - 1))))
+                .body(Flux.fromIterable(page));
+    }
+    
+    // Same cap as RecipeService: id lists share the maximum page size
+    private Set<Long> checkIds(List<Long> ids) {
+        Set<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (distinctIds.size() > paginationProperties.getMaxPageSize()) {
+            throw new TooManyIdsException("At most " + paginationProperties.getMaxPageSize() + " ids are allowed per request, got "
+                    + distinctIds.size());
+        }
+        return distinctIds;
+    }
+}
@@ -0,0 +1,236 @@
+package com.recime.api.reactive;
+
+import com.recime.api.dto.RecipeDTO;
+import com.recime.api.dto.RecipeSummary;
+import com.recime.api.entity.Ingredient;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Non-blocking reads over the tables the main application maps with JPA. Recipes come from one
+ * keyset query and their ingredients from a second query over the page's ids, mirroring the
+ * entity read path (page query plus one batch fetch).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveRecipeRepository {
+
+    private static final String RECIPE_SELECT = "SELECT r.id, r.title, r.description, r.instructions, r.vegetarian, " +
+            "r.servings, r.created_at, r.updated_at, r.version FROM recipes r ";
+
+    private static final String SUMMARY_SELECT = "SELECT r.id, r.title, r.vegetarian, r.servings, r.created_at, r.updated_at, " +
+            "r.version FROM recipes r ";
+
+    private static final String INGREDIENT_SELECT = "SELECT ri.recipe_id, i.name FROM recipe_ingredient ri " +
+            "JOIN ingredient_catalog i ON i.id = ri.ingredient_id " +
+            "WHERE ri.recipe_id IN (:ids) ORDER BY ri.recipe_id, ri.ingredient_position";
+
+    // Same ranking as RecipeSearchRepositoryImpl; search_vector and the trigram indexes are PostgreSQL only
+    private static final String POSTGRES_FULL_TEXT = RECIPE_SELECT + ", websearch_to_tsquery('english', :query) q " +
+            "WHERE r.search_vector @@ q " +
+            "ORDER BY ts_rank(r.search_vector, q) DESC, r.id LIMIT :limit";
+
+    private static final String POSTGRES_TRIGRAM = RECIPE_SELECT +
+            "WHERE r.title ILIKE :pattern OR r.description ILIKE :pattern OR r.instructions ILIKE :pattern " +
+            "ORDER BY similarity(r.title, :query) DESC, r.id LIMIT :limit";
+
+    private static final String PORTABLE_FULL_TEXT = RECIPE_SELECT +
+            "WHERE LOWER(r.title) LIKE :pattern OR LOWER(r.description) LIKE :pattern OR LOWER(r.instructions) LIKE :pattern " +
+            "ORDER BY CASE WHEN LOWER(r.title) LIKE :pattern THEN 0 WHEN LOWER(r.description) LIKE :pattern THEN 1 ELSE 2 END, " +
+            "r.id LIMIT :limit";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<RecipeDTO> findById(Long id) {
+        Flux<RecipeDTO> recipe = databaseClient.sql(RECIPE_SELECT + "WHERE r.id = :id")
+                .bind("id", id)
+                .map(ReactiveRecipeRepository::toDTO)
+                .all();
+        return withIngredients(recipe).next();
+    }
+
+    // Recipes among the given ids, in id order; unknown ids are skipped
+    public Flux<RecipeDTO> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        Flux<RecipeDTO> recipes = databaseClient.sql(RECIPE_SELECT + "WHERE r.id IN (:ids) ORDER BY r.id")
+                .bind("ids", ids)
+                .map(ReactiveRecipeRepository::toDTO)
+                .all();
+        return withIngredients(recipes);
+    }
+
+    /**
+     * Recipes after {@code afterId} in id order, at most {@code limit} of them. Filters follow
+     * RecipeSearchQuery: null means not supplied, ingredient names match by normalized name.
+     */
+    public Flux<RecipeDTO> findPage(Boolean vegetarian, Integer servings,
+                                    List<String> includeIngredients,
+                                    List<String> excludeIngredients,
+                                    String contentToFilter,
+                                    long afterId, int limit) {
+        return withIngredients(page(RECIPE_SELECT, vegetarian, servings, includeIngredients, excludeIngredients, contentToFilter,
+                afterId, limit).map(ReactiveRecipeRepository::toDTO).all());
+    }
+
+    // Same page as findPage without the text columns, and without the ingredient query
+    public Flux<RecipeSummary> findSummaryPage(Boolean vegetarian, Integer servings,
+                                               List<String> includeIngredients,
+                                               List<String> excludeIngredients,
+                                               String contentToFilter,
+                                               long afterId, int limit) {
+        return page(SUMMARY_SELECT, vegetarian, servings, includeIngredients, excludeIngredients, contentToFilter, afterId, limit)
+                .map(ReactiveRecipeRepository::toSummary)
+                .all();
+    }
+
+    /**
+     * Best matches for a trimmed, non-blank query. PostgreSQL ranks by its text search and falls
+     * back to trigram substring matching for partial words; other databases match substrings
+     * case-insensitively, title matches first.
+     */
+    public Flux<RecipeDTO> fullTextSearch(String query, int limit) {
+        String pattern = "%" + escapeLike(query.toLowerCase(Locale.ROOT)) + "%";
+        if (!isPostgres()) {
+            return withIngredients(databaseClient.sql(PORTABLE_FULL_TEXT)
+                    .bind("pattern", pattern)
+                    .bind("limit", limit)
+                    .map(ReactiveRecipeRepository::toDTO)
+                    .all());
+        }
+
+        Flux<RecipeDTO> ranked = databaseClient.sql(POSTGRES_FULL_TEXT)
+                .bind("query", query)
+                .bind("limit", limit)
+                .map(ReactiveRecipeRepository::toDTO)
+                .all();
+        Flux<RecipeDTO> trigram = databaseClient.sql(POSTGRES_TRIGRAM)
+                .bind("query", query)
+                .bind("pattern", pattern)
+                .bind("limit", limit)
+                .map(ReactiveRecipeRepository::toDTO)
+                .all();
+        return withIngredients(ranked.switchIfEmpty(trigram));
+    }
+
+    private DatabaseClient.GenericExecuteSpec page(String select, Boolean vegetarian, Integer servings,
+                                                   List<String> includeIngredients,
+                                                   List<String> excludeIngredients,
+                                                   String contentToFilter,
+                                                   long afterId, int limit) {
+        StringBuilder where = new StringBuilder("WHERE r.id > :afterId");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("afterId", afterId);
+        if (vegetarian != null) {
+            where.append(" AND r.vegetarian = :vegetarian");
+            parameters.put("vegetarian", vegetarian);
+        }
+        if (servings != null) {
+            where.append(" AND r.servings = :servings");
+            parameters.put("servings", servings);
+        }
+        if (includeIngredients != null && !includeIngredients.isEmpty()) {
+            List<String> names = normalize(includeIngredients);
+            if (names.isEmpty()) {
+                where.append(" AND 1 = 0");
+            } else {
+                where.append(" AND EXISTS (SELECT 1 FROM recipe_ingredient ri JOIN ingredient_catalog i ON i.id = ri.ingredient_id " +
+                        "WHERE ri.recipe_id = r.id AND i.normalized_name IN (:includeIngredients))");
+                parameters.put("includeIngredients", names);
+            }
+        }
+        List<String> excluded = excludeIngredients == null ? List.of() : normalize(excludeIngredients);
+        if (!excluded.isEmpty()) {
+            where.append(" AND NOT EXISTS (SELECT 1 FROM recipe_ingredient ri2 JOIN ingredient_catalog i2 ON i2.id = ri2.ingredient_id " +
+                    "WHERE ri2.recipe_id = r.id AND i2.normalized_name IN (:excludeIngredients))");
+            parameters.put("excludeIngredients", excluded);
+        }
+        if (contentToFilter != null && !contentToFilter.isEmpty()) {
+            where.append(" AND r.instructions LIKE :contentToFilter");
+            parameters.put("contentToFilter", "%" + contentToFilter + "%");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(select + where + " ORDER BY r.id LIMIT :limit");
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec.bind("limit", limit);
+    }
+
+    // The page is bounded by the caller's limit, so holding it while the ingredient query runs is cheap
+    private Flux<RecipeDTO> withIngredients(Flux<RecipeDTO> recipes) {
+        return recipes.collectList().flatMapMany(page -> {
+            if (page.isEmpty()) {
+                return Flux.empty();
+            }
+            List<Long> ids = page.stream().map(RecipeDTO::getId).toList();
+            return databaseClient.sql(INGREDIENT_SELECT)
+                    .bind("ids", ids)
+                    .map(row -> Map.entry(row.get("recipe_id", Long.class), row.get("name", String.class)))
+                    .all()
+                    .collectMultimap(Map.Entry::getKey, Map.Entry::getValue)
+                    .flatMapIterable(ingredients -> {
+                        page.forEach(recipe -> recipe.setIngredients(
+                                new ArrayList<>(ingredients.getOrDefault(recipe.getId(), List.of()))));
+                        return page;
+                    });
+        });
+    }
+
+    private boolean isPostgres() {
+        return "PostgreSQL".equals(databaseClient.getConnectionFactory().getMetadata().getName());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    private static List<String> normalize(Collection<String> names) {
+        return names.stream()
+                .map(Ingredient::normalize)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
+    private static RecipeDTO toDTO(Readable row) {
+        return RecipeDTO.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .description(row.get("description", String.class))
+                .instructions(row.get("instructions", String.class))
+                .vegetarian(row.get("vegetarian", Boolean.class))
+                .servings(row.get("servings", Integer.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+
+    private static RecipeSummary toSummary(Readable row) {
+        return new RecipeSummary(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("vegetarian", Boolean.class),
+                row.get("servings", Integer.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class),
+                row.get("version", Long.class));
+    }
+}
@@ -0,0 +1,161 @@
+package com.recime.api.reactive;
+
+import com.recime.api.controller.RecipeController;
+import com.recime.api.dto.RecipeDTO;
+import com.recime.api.dto.RecipeSummary;
+import com.recime.api.service.RecipeCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveRecipeController.class)
+class ReactiveRecipeControllerTest {
+    
+    @Autowired
+    private WebTestClient webTestClient;
+    
+    @MockBean
+    private ReactiveRecipeRepository recipeRepository;
+    
+    @Test
+    void getRecipeById_ShouldReturnRecipe() {
+        when(recipeRepository.findById(1L)).thenReturn(Mono.just(recipe(1L)));
+        
+        webTestClient.get().uri("/api/recipes/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.ingredients[0]").isEqualTo("Tomato");
+    }
+    
+    @Test
+    void getRecipeById_WhenRecipeNotFound_ShouldReturn404() {
+        when(recipeRepository.findById(99L)).thenReturn(Mono.empty());
+        
+        webTestClient.get().uri("/api/recipes/99")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Recipe not found with id: 99");
+    }
+    
+    @Test
+    void getAllRecipes_WhenMoreRecipesExist_ShouldReturnPageAndNextCursor() {
+        when(recipeRepository.findPage(true, null, List.of("Tomato"), null, null, 0L, 3))
+                .thenReturn(Flux.just(recipe(1L), recipe(2L), recipe(3L)));
+        
+        webTestClient.get().uri("/api/recipes?vegetarian=true&includeIngredients=Tomato&size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(RecipeController.NEXT_CURSOR_HEADER, RecipeCursor.encode(2L))
+                .expectBodyList(RecipeDTO.class).hasSize(2);
+    }
+    
+    @Test
+    void getAllRecipes_WithCursor_ShouldContinueAfterIt() {
+        when(recipeRepository.findPage(null, null, null, null, null, 2L, 21)).thenReturn(Flux.just(recipe(3L)));
+        
+        webTestClient.get().uri("/api/recipes?cursor=" + RecipeCursor.encode(2L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(RecipeController.NEXT_CURSOR_HEADER)
+                .expectBodyList(RecipeDTO.class).hasSize(1);
+        
+        verify(recipeRepository).findPage(null, null, null, null, null, 2L, 21);
+    }
+    
+    @Test
+    void getAllRecipes_WithInvalidCursor_ShouldReturn400() {
+        webTestClient.get().uri("/api/recipes?cursor=not-a-cursor")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+    
+    @Test
+    void getRecipeSummaries_WhenMoreRecipesExist_ShouldReturnPageAndNextCursor() {
+        when(recipeRepository.findSummaryPage(null, 4, null, null, null, 0L, 3))
+                .thenReturn(Flux.just(summary(1L), summary(2L), summary(3L)));
+        
+        webTestClient.get().uri("/api/recipes?view=summary&servings=4&size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(RecipeController.NEXT_CURSOR_HEADER, RecipeCursor.encode(2L))
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].title").isEqualTo("Recipe 2")
+                .jsonPath("$[0].ingredients").doesNotExist();
+    }
+    
+    @Test
+    void getRecipesByIds_ShouldReturnRecipesForDistinctIds() {
+        when(recipeRepository.findByIds(Set.of(1L, 2L))).thenReturn(Flux.just(recipe(1L), recipe(2L)));
+        
+        webTestClient.get().uri("/api/recipes?ids=2,1,2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(RecipeDTO.class).hasSize(2);
+    }
+    
+    @Test
+    void getRecipesByIds_WithMoreIdsThanTheMaxPageSize_ShouldReturn400() {
+        String ids = LongStream.rangeClosed(1, 101).mapToObj(Long::toString).collect(Collectors.joining(","));
+        
+        webTestClient.get().uri("/api/recipes?ids=" + ids)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("At most 100 ids are allowed per request, got 101");
+    }
+    
+    @Test
+    void fullTextSearch_ShouldSearchTheTrimmedQuery() {
+        when(recipeRepository.fullTextSearch("tomato", 5)).thenReturn(Flux.just(recipe(1L)));
+        
+        webTestClient.get().uri("/api/recipes/search?q= tomato &size=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(RecipeDTO.class).hasSize(1);
+    }
+    
+    @Test
+    void fullTextSearch_WithBlankQuery_ShouldReturnEmptyListWithoutQuerying() {
+        webTestClient.get().uri("/api/recipes/search?q= ")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(RecipeDTO.class).hasSize(0);
+        
+        verify(recipeRepository, never()).fullTextSearch(anyString(), anyInt());
+    }
+    
+    private static RecipeDTO recipe(Long id) {
+        return RecipeDTO.builder()
+                .id(id)
+                .title("Recipe " + id)
+                .ingredients(List.of("Tomato"))
+                .instructions("Cook")
+                .vegetarian(true)
+                .servings(2)
+                .version(0L)
+                .build();
+    }
+    
+    private static RecipeSummary summary(Long id) {
+        return new RecipeSummary(id, "Recipe " + id, true, 4, null, null, 0L);
+    }
+}
@@ -0,0 +1,130 @@
+package com.recime.api.reactive;
+
+import com.recime.api.dto.RecipeDTO;
+import com.recime.api.dto.RecipeSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataR2dbcTest
+@Import(ReactiveRecipeRepository.class)
+class ReactiveRecipeRepositoryTest {
+
+    @Autowired
+    private ReactiveRecipeRepository recipeRepository;
+
+    @Test
+    void findPage_WithoutFilters_ShouldReturnRecipesInIdOrderWithOrderedIngredients() {
+        StepVerifier.create(recipeRepository.findPage(null, null, null, null, null, 0L, 2))
+                .assertNext(recipe -> {
+                    assertThat(recipe.getId()).isEqualTo(1L);
+                    assertThat(recipe.getIngredients()).containsExactly("Tomato", "Basil");
+                })
+                .assertNext(recipe -> assertThat(recipe.getIngredients()).containsExactly("Beef", "Tomato"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findPage_WithCursor_ShouldOnlyReturnRecipesAfterIt() {
+        StepVerifier.create(recipeRepository.findPage(null, null, null, null, null, 2L, 10).map(RecipeDTO::getId))
+                .expectNext(3L)
+                .verifyComplete();
+    }
+
+    @Test
+    void findPage_WithIngredientFilters_ShouldMatchNormalizedNames() {
+        StepVerifier.create(recipeRepository.findPage(null, null, List.of(" TOMATO "), List.of("Beef"), null, 0L, 10)
+                        .map(RecipeDTO::getId))
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void findPage_WithUnknownIncludeIngredient_ShouldReturnNothing() {
+        StepVerifier.create(recipeRepository.findPage(null, null, List.of("saffron"), null, null, 0L, 10))
+                .verifyComplete();
+    }
+
+    @Test
+    void findPage_WithScalarAndContentFilters_ShouldApplyAll() {
+        StepVerifier.create(recipeRepository.findPage(true, 4, null, null, "basil", 0L, 10).map(RecipeDTO::getId))
+                .expectNext(3L)
+                .verifyComplete();
+    }
+
+    @Test
+    void findById_ShouldReturnRecipeWithIngredients() {
+        StepVerifier.create(recipeRepository.findById(3L))
+                .assertNext(recipe -> {
+                    assertThat(recipe.getTitle()).isEqualTo("Pesto Pasta");
+                    assertThat(recipe.getIngredients()).containsExactly("Pasta", "Basil");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findById_WithUnknownId_ShouldBeEmpty() {
+        StepVerifier.create(recipeRepository.findById(99L))
+                .verifyComplete();
+    }
+
+    @Test
+    void findSummaryPage_WithFilters_ShouldReturnSummariesInIdOrder() {
+        StepVerifier.create(recipeRepository.findSummaryPage(true, null, List.of("basil"), null, null, 0L, 10))
+                .assertNext(summary -> {
+                    assertThat(summary.id()).isEqualTo(1L);
+                    assertThat(summary.title()).isEqualTo("Tomato Soup");
+                    assertThat(summary.version()).isZero();
+                })
+                .assertNext(summary -> assertThat(summary.id()).isEqualTo(3L))
+                .verifyComplete();
+    }
+
+    @Test
+    void findSummaryPage_WithCursor_ShouldOnlyReturnSummariesAfterIt() {
+        StepVerifier.create(recipeRepository.findSummaryPage(null, null, null, null, null, 1L, 1).map(RecipeSummary::id))
+                .expectNext(2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void findByIds_ShouldReturnExistingRecipesInIdOrderWithIngredients() {
+        StepVerifier.create(recipeRepository.findByIds(List.of(3L, 99L, 1L)))
+                .assertNext(recipe -> {
+                    assertThat(recipe.getId()).isEqualTo(1L);
+                    assertThat(recipe.getIngredients()).containsExactly("Tomato", "Basil");
+                })
+                .assertNext(recipe -> assertThat(recipe.getIngredients()).containsExactly("Pasta", "Basil"))
+                .verifyComplete();
+    }
+
+    @Test
+    void fullTextSearch_ShouldMatchCaseInsensitivelyWithTitleMatchesFirst() {
+        StepVerifier.create(recipeRepository.fullTextSearch("TOMATO", 10))
+                .assertNext(recipe -> {
+                    assertThat(recipe.getId()).isEqualTo(1L);
+                    assertThat(recipe.getIngredients()).containsExactly("Tomato", "Basil");
+                })
+                .assertNext(recipe -> assertThat(recipe.getId()).isEqualTo(2L))
+                .verifyComplete();
+    }
+
+    @Test
+    void fullTextSearch_ShouldHonourTheLimit() {
+        StepVerifier.create(recipeRepository.fullTextSearch("basil", 1).map(RecipeDTO::getId))
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void fullTextSearch_WithLikeWildcards_ShouldMatchThemLiterally() {
+        StepVerifier.create(recipeRepository.fullTextSearch("%", 10))
+                .verifyComplete();
+    }
+}
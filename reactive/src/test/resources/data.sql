@@ -0,0 +1,15 @@
+INSERT INTO recipes (id, title, description, instructions, vegetarian, servings, created_at, version) VALUES
+    (1, 'Tomato Soup', 'Smooth and light', 'Simmer tomatoes with basil', TRUE, 2, TIMESTAMP '2024-01-01 12:00:00', 0),
+    (2, 'Beef Stew', 'Hearty stew', 'Brown beef, add tomatoes, simmer for hours', FALSE, 6, TIMESTAMP '2024-01-02 12:00:00', 0),
+    (3, 'Pesto Pasta', 'Quick dinner', 'Boil pasta, stir in basil pesto', TRUE, 4, TIMESTAMP '2024-01-03 12:00:00', 0);
+
+INSERT INTO ingredient_catalog (id, name, normalized_name) VALUES
+    (1, 'Tomato', 'tomato'),
+    (2, 'Basil', 'basil'),
+    (3, 'Beef', 'beef'),
+    (4, 'Pasta', 'pasta');
+
+INSERT INTO recipe_ingredient (recipe_id, ingredient_id, ingredient_position) VALUES
+    (1, 1, 0), (1, 2, 1),
+    (2, 3, 0), (2, 1, 1),
+    (3, 4, 0), (3, 2, 1);
@@ -0,0 +1,25 @@
+-- Subset of the main application's Liquibase schema that the reactive reads touch
+CREATE TABLE recipes (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(4000),
+    instructions VARCHAR(4000) NOT NULL,
+    vegetarian BOOLEAN NOT NULL,
+    servings INT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    version BIGINT NOT NULL
+);
+
+CREATE TABLE ingredient_catalog (
+    id INT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    normalized_name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE recipe_ingredient (
+    recipe_id BIGINT NOT NULL REFERENCES recipes (id) ON DELETE CASCADE,
+    ingredient_id INT NOT NULL REFERENCES ingredient_catalog (id),
+    ingredient_position INT NOT NULL,
+    PRIMARY KEY (recipe_id, ingredient_position)
+);
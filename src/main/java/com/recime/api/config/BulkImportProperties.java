@@ -0,0 +1,15 @@
+package com.recime.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "recipe.bulk-import")
+@Getter
+@Setter
+public class BulkImportProperties {
+
+    // Recipes written per transaction. A multiple of hibernate.jdbc.batch_size keeps every
+    // JDBC batch full; RecipeImportService clears the persistence context after each chunk
+    private int chunkSize = 500;
+}
@@ -0,0 +1,14 @@
+package com.recime.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "recipe.coalescing")
+@Getter
+@Setter
+public class CoalescingProperties {
+
+    // Let concurrent identical reads share one call to RecipeService instead of one query each
+    private boolean enabled = true;
+}
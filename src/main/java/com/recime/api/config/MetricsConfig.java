@@ -0,0 +1,26 @@
+package com.recime.api.config;
+
+import com.recime.api.metrics.RecipeServiceMetrics;
+import com.recime.api.metrics.ResponseSizeFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public RecipeServiceMetrics recipeServiceMetrics(MeterRegistry meterRegistry) {
+        return new RecipeServiceMetrics(meterRegistry);
+    }
+
+    // API endpoints only, so Prometheus scrapes don't show up in the response sizes
+    @Bean
+    public FilterRegistrationBean<ResponseSizeFilter> responseSizeFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ResponseSizeFilter> registration =
+                new FilterRegistrationBean<>(new ResponseSizeFilter(meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
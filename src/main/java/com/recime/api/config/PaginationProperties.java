@@ -0,0 +1,24 @@
+package com.recime.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "recipe.pagination")
+@Getter
+@Setter
+public class PaginationProperties {
+
+    // Page size used when the client does not ask for one
+    private int defaultPageSize = 20;
+
+    // Hard cap so a single request can never pull an unbounded slice of the table
+    private int maxPageSize = 100;
+
+    public int resolvePageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
@@ -0,0 +1,24 @@
+package com.recime.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "recipe.read-model")
+@Getter
+@Setter
+public class ReadModelProperties {
+
+    public enum ReadModel {
+        // Load managed Recipe/Ingredient entities and map them to DTOs
+        ENTITY,
+        // Project rows straight into RecipeView, ingredients aggregated in SQL
+        PROJECTION
+    }
+
+    // Read model used by GET /api/recipes without filters
+    private ReadModel list = ReadModel.ENTITY;
+
+    // Read model used by GET /api/recipes with search filters
+    private ReadModel search = ReadModel.ENTITY;
+}
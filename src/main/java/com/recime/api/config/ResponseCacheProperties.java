@@ -0,0 +1,38 @@
+package com.recime.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "recipe.response-cache")
+@Getter
+@Setter
+public class ResponseCacheProperties {
+
+    public enum Storage {
+        // Bodies are byte arrays on the heap
+        HEAP,
+        // Bodies live in max-size of direct memory; the heap only holds small handles
+        OFF_HEAP
+    }
+
+    // Serve GET /api/recipes/{id} from pre-serialized JSON. Writes through this instance replace
+    // entries on commit; writes through other instances are only seen once time-to-live passes
+    private boolean enabled = false;
+
+    // Total size of cached bodies, compressed variants included
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    // Bodies smaller than this are not worth a gzip variant
+    private DataSize compressionMinSize = DataSize.ofKilobytes(1);
+
+    private Duration timeToLive = Duration.ofMinutes(10);
+
+    private Storage storage = Storage.HEAP;
+
+    // Allocation unit of the off-heap arena; a body wastes less than one block
+    private DataSize blockSize = DataSize.ofBytes(512);
+}
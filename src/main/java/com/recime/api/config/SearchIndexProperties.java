@@ -0,0 +1,15 @@
+package com.recime.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "recipe.search-index")
+@Getter
+@Setter
+public class SearchIndexProperties {
+
+    // Answer ingredient/vegetarian/servings searches from the in-process index. The index only
+    // sees writes made through this instance, so enable it for single-instance deployments only
+    private boolean enabled = false;
+}
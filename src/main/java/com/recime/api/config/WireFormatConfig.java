@@ -0,0 +1,37 @@
+package com.recime.api.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings of the same Jackson model as JSON, for service-to-service clients: CBOR
+ * ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}), for request and
+ * response bodies alike.
+ * <p>
+ * Spring MVC registers both converters on its own once the Jackson modules are present, but with
+ * plain mappers. These beans take their place in the converter list, after JSON, so a client
+ * accepting anything still gets JSON, and use Boot's builder, so dates and features match JSON.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    // The builder bean is a prototype, so each converter gets its own
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -1,8 +1,22 @@
 package com.recime.api.controller;
 
+import com.recime.api.config.ReadModelProperties;
+import com.recime.api.config.ReadModelProperties.ReadModel;
+import com.recime.api.config.WireFormatConfig;
+import com.recime.api.dto.BulkImportResult;
+import com.recime.api.dto.CursorPage;
+import com.recime.api.dto.IngredientPatchRequest;
 import com.recime.api.dto.RecipeDTO;
 import com.recime.api.dto.RecipeRequest;
+import com.recime.api.dto.RecipeSummary;
+import com.recime.api.dto.RecipeVersion;
+import com.recime.api.dto.RecipeView;
 import com.recime.api.entity.Recipe;
+import com.recime.api.exception.PreconditionFailedException;
+import com.recime.api.service.RecipeExportService;
+import com.recime.api.service.RecipeExportService.Format;
+import com.recime.api.service.RecipeImportService;
+import com.recime.api.service.RecipeResponseCache;
 import com.recime.api.service.RecipeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,11 +27,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -26,7 +51,17 @@ import java.util.stream.Collectors;
 @Tag(name = "Recipe Controller", description = "Operations for managing recipes")
 public class RecipeController {
     
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
+    private static final String GZIP = "gzip";
+
+    private static final List<MediaType> BINARY_TYPES = List.of(MediaType.APPLICATION_CBOR, WireFormatConfig.APPLICATION_SMILE);
+    
     private final RecipeService recipeService;
+    private final ReadModelProperties readModelProperties;
+    private final RecipeImportService recipeImportService;
+    private final RecipeExportService recipeExportService;
+    private final RecipeResponseCache recipeResponseCache;
     
     @PostMapping
     @Operation(summary = "Create a new recipe", description = "Creates a new recipe with the provided details")
@@ -37,9 +72,20 @@ public class RecipeController {
         @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content)
     })
     public ResponseEntity<RecipeDTO> createRecipe(@Valid @RequestBody RecipeRequest request) {
-        Recipe recipe = mapToEntity(request);
+        Recipe recipe = RecipeMapper.toEntity(request);
         Recipe savedRecipe = recipeService.createRecipe(recipe);
-        return new ResponseEntity<>(mapToDTO(savedRecipe), HttpStatus.CREATED);
+        return new ResponseEntity<>(RecipeMapper.toDTO(savedRecipe), HttpStatus.CREATED);
+    }
+    
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Operation(summary = "Create recipes in bulk", description = "Accepts a JSON array or newline-delimited JSON of recipes and " +
+            "reads it as a stream. Each recipe is validated on its own; valid ones are created and the rest are reported " +
+            "by their zero-based position in the body")
+    @ApiResponse(responseCode = "200", description = "Import finished, possibly with per-item errors",
+            content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = BulkImportResult.class)) })
+    public ResponseEntity<BulkImportResult> createRecipes(InputStream body) throws IOException {
+        return ResponseEntity.ok(recipeImportService.importRecipes(body, RecipeMapper::toEntity));
     }
     
     @GetMapping("/{id}")
@@ -48,42 +94,208 @@ public class RecipeController {
         @ApiResponse(responseCode = "200", description = "Recipe found",
                 content = { @Content(mediaType = "application/json",
                         schema = @Schema(implementation = RecipeDTO.class)) }),
+        @ApiResponse(responseCode = "304", description = "Recipe not modified since the given ETag or date", content = @Content),
         @ApiResponse(responseCode = "404", description = "Recipe not found", content = @Content)
     })
-    public ResponseEntity<RecipeDTO> getRecipeById(@Parameter(description = "Recipe ID") @PathVariable Long id) {
-        Recipe recipe = recipeService.getRecipeById(id);
-        return ResponseEntity.ok(mapToDTO(recipe));
+    public ResponseEntity<?> getRecipeById(@Parameter(description = "Recipe ID") @PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                           WebRequest webRequest) {
+        MediaType binaryType = preferredBinaryType(accept);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        RecipeResponseCache.Entry cached = binaryType != null ? null : recipeResponseCache.get(id);
+        if (cached == null) {
+            if (isConditional(webRequest)) {
+                Optional<RecipeVersion> version = recipeService.findRecipeVersion(id);
+                if (version.isPresent() && checkNotModified(webRequest, candidateETags(version.get().eTag(), binaryType, gzip),
+                        version.get().lastModified())) {
+                    return null;
+                }
+            }
+            Recipe recipe = recipeService.getRecipeById(id);
+            RecipeVersion version = versionOf(recipe);
+            if (binaryType != null) {
+                // Only JSON bodies are cached; CBOR and Smile are encoded by the message converters
+                return ResponseEntity.ok()
+                        .eTag(RecipeVersion.variant(version.eTag(), representation(binaryType)))
+                        .lastModified(version.lastModified())
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(RecipeMapper.toDTO(recipe));
+            }
+            cached = recipeResponseCache.put(version, RecipeMapper.toDTO(recipe));
+        }
+        
+        // Conditional requests answered from the cache get their 304 from the ETag and Last-Modified set here
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .lastModified(cached.lastModified())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        byte[] compressed = gzip ? recipeResponseCache.gzip(id, cached) : null;
+        if (compressed != null) {
+            return response.eTag(RecipeVersion.variant(cached.eTag(), GZIP))
+                    .header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                    .body(compressed);
+        }
+        return response.eTag(cached.eTag()).body(cached.json());
     }
     
     @GetMapping
-    @Operation(summary = "Get all recipes with optional filters", description = "Returns a list of all recipes or filtered recipes based on search criteria")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved list",
-            content = { @Content(mediaType = "application/json",
-                    schema = @Schema(implementation = RecipeDTO.class)) })
+    @Operation(summary = "Get all recipes with optional filters", description = "Returns a page of recipes or filtered recipes based on search criteria. " +
+            "When more results exist, the " + NEXT_CURSOR_HEADER + " response header carries the cursor for the next page. " +
+            "Add view=summary for a list without description, instructions and ingredients")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved list",
+                content = { @Content(mediaType = "application/json",
+                        schema = @Schema(implementation = RecipeDTO.class)) }),
+        @ApiResponse(responseCode = "304", description = "Unfiltered page not modified since the given ETag", content = @Content)
+    })
     public ResponseEntity<List<RecipeDTO>> getAllRecipes(
             @Parameter(description = "Filter by vegetarian status") @RequestParam(required = false) Boolean vegetarian,
             @Parameter(description = "Filter by number of servings") @RequestParam(required = false) Integer servings,
             @Parameter(description = "Include recipes with these ingredients") @RequestParam(required = false) List<String> includeIngredients,
             @Parameter(description = "Exclude recipes with these ingredients") @RequestParam(required = false) List<String> excludeIngredients,
-            @Parameter(description = "Content instructions to filter") @RequestParam(required = false) String contentInstructions) {
+            @Parameter(description = "Content instructions to filter") @RequestParam(required = false) String contentInstructions,
+            @Parameter(description = "Continuation token from a previous " + NEXT_CURSOR_HEADER + " header") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by the server") @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) {
         
-        // Convert ingredient lists to lowercase for case-insensitive matching
-        List<String> lowerIncludeIngredients = includeIngredients != null ? 
-            includeIngredients.stream().map(String::toLowerCase).collect(Collectors.toList()) : null;
-        List<String> lowerExcludeIngredients = excludeIngredients != null ? 
-            excludeIngredients.stream().map(String::toLowerCase).collect(Collectors.toList()) : null;
+        MediaType binaryType = preferredBinaryType(accept);
+        boolean filtered = vegetarian != null || servings != null || includeIngredients != null || excludeIngredients != null || contentInstructions != null;
+        if (!filtered && isConditional(webRequest)
+                && webRequest.checkNotModified(pageETag(recipeService.getRecipeVersions(cursor, size), binaryType))) {
+            return null;
+        }
+        ReadModel readModel = filtered ? readModelProperties.getSearch() : readModelProperties.getList();
         
-        List<Recipe> recipes;
-        if (vegetarian != null || servings != null || includeIngredients != null || excludeIngredients != null || contentInstructions != null) {
-            recipes = recipeService.searchRecipes(vegetarian, servings, lowerIncludeIngredients, lowerExcludeIngredients, contentInstructions);
+        CursorPage<RecipeDTO> recipeDTOs;
+        if (readModel == ReadModel.PROJECTION) {
+            CursorPage<RecipeView> views = filtered
+                    ? recipeService.searchRecipeViews(vegetarian, servings, includeIngredients, excludeIngredients, contentInstructions, cursor, size)
+                    : recipeService.getRecipeViews(cursor, size);
+            recipeDTOs = views.map(RecipeMapper::toDTO);
         } else {
-            recipes = recipeService.getAllRecipes();
+            CursorPage<Recipe> recipes = filtered
+                    ? recipeService.searchRecipes(vegetarian, servings, includeIngredients, excludeIngredients, contentInstructions, cursor, size)
+                    : recipeService.getRecipes(cursor, size);
+            recipeDTOs = recipes.map(RecipeMapper::toDTO);
+        }
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        if (!filtered) {
+            response.eTag(pageETag(recipeDTOs.map(dto -> RecipeVersion.of(dto.getId(), dto.getVersion(), dto.getUpdatedAt(), dto.getCreatedAt())), binaryType));
         }
+        if (recipeDTOs.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, recipeDTOs.getNextCursor());
+        }
+        return response.body(recipeDTOs.getItems());
+    }
+    
+    @GetMapping(params = { "view=summary", "!ids" })
+    @Operation(summary = "Get recipe summaries with optional filters", description = "Same filters and paging as the full list, but each " +
+            "recipe only carries id, title, vegetarian, servings, timestamps and version. Description, instructions and ingredients " +
+            "are not read from the database")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved list",
+                content = { @Content(mediaType = "application/json",
+                        schema = @Schema(implementation = RecipeSummary.class)) }),
+        @ApiResponse(responseCode = "304", description = "Unfiltered page not modified since the given ETag", content = @Content)
+    })
+    public ResponseEntity<List<RecipeSummary>> getRecipeSummaries(
+            @Parameter(description = "Filter by vegetarian status") @RequestParam(required = false) Boolean vegetarian,
+            @Parameter(description = "Filter by number of servings") @RequestParam(required = false) Integer servings,
+            @Parameter(description = "Include recipes with these ingredients") @RequestParam(required = false) List<String> includeIngredients,
+            @Parameter(description = "Exclude recipes with these ingredients") @RequestParam(required = false) List<String> excludeIngredients,
+            @Parameter(description = "Content instructions to filter") @RequestParam(required = false) String contentInstructions,
+            @Parameter(description = "Continuation token from a previous " + NEXT_CURSOR_HEADER + " header") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by the server") @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) {
+        
+        MediaType binaryType = preferredBinaryType(accept);
+        boolean filtered = vegetarian != null || servings != null || includeIngredients != null || excludeIngredients != null || contentInstructions != null;
+        if (!filtered && isConditional(webRequest)
+                && webRequest.checkNotModified(pageETag(recipeService.getRecipeVersions(cursor, size), binaryType))) {
+            return null;
+        }
+        CursorPage<RecipeSummary> summaries = filtered
+                ? recipeService.searchRecipeSummaries(vegetarian, servings, includeIngredients, excludeIngredients, contentInstructions, cursor, size)
+                : recipeService.getRecipeSummaries(cursor, size);
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        if (!filtered) {
+            response.eTag(pageETag(summaries.map(summary -> RecipeVersion.of(summary.id(), summary.version(), summary.updatedAt(), summary.createdAt())), binaryType));
+        }
+        if (summaries.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, summaries.getNextCursor());
+        }
+        return response.body(summaries.getItems());
+    }
+    
+    @GetMapping(value = "/export", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, WireFormatConfig.APPLICATION_SMILE_VALUE })
+    @Operation(summary = "Export all recipes", description = "Streams every recipe in id order as newline-delimited JSON, or as " +
+            "one JSON, CBOR or Smile array when that is what the client accepts. Compressed with gzip when the client accepts it")
+    @ApiResponse(responseCode = "200", description = "Export streamed",
+            content = { @Content(mediaType = "application/x-ndjson",
+                    schema = @Schema(implementation = RecipeDTO.class)) })
+    public ResponseEntity<StreamingResponseBody> exportRecipes(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        MediaType binaryType = preferredBinaryType(accept);
+        Format format;
+        if (binaryType != null) {
+            format = MediaType.APPLICATION_CBOR.equals(binaryType) ? Format.CBOR : Format.SMILE;
+        } else {
+            format = acceptsJsonArray(accept) ? Format.JSON : Format.NDJSON;
+        }
+        boolean gzip = acceptsGzip(acceptEncoding);
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(switch (format) {
+                    case NDJSON -> MediaType.APPLICATION_NDJSON;
+                    case JSON -> MediaType.APPLICATION_JSON;
+                    case CBOR -> MediaType.APPLICATION_CBOR;
+                    case SMILE -> WireFormatConfig.APPLICATION_SMILE;
+                })
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        return response.body(out -> recipeExportService.exportRecipes(out, format, gzip));
+    }
+    
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get recipes by ID", description = "Returns the recipes with the given IDs in one request, in ID order. " +
+            "IDs that do not exist are left out of the result")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved list",
+                content = { @Content(mediaType = "application/json",
+                        schema = @Schema(implementation = RecipeDTO.class)) }),
+        @ApiResponse(responseCode = "400", description = "More IDs than the maximum page size", content = @Content)
+    })
+    public ResponseEntity<List<RecipeDTO>> getRecipesByIds(
+            @Parameter(description = "Recipe IDs, comma separated or repeated") @RequestParam List<Long> ids) {
+        List<RecipeDTO> recipeDTOs = readModelProperties.getList() == ReadModel.PROJECTION
+                ? recipeService.getRecipeViewsByIds(ids).stream().map(RecipeMapper::toDTO).collect(Collectors.toList())
+                : recipeService.getRecipesByIds(ids).stream().map(RecipeMapper::toDTO).collect(Collectors.toList());
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(recipeDTOs);
+    }
+    
+    @GetMapping("/search")
+    @Operation(summary = "Full-text search over recipes", description = "Returns the best matching recipes for a free-text query over title, " +
+            "description and instructions, ranked by relevance. Partial words fall back to substring matching")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved ranked list",
+            content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = RecipeDTO.class)) })
+    public ResponseEntity<List<RecipeDTO>> fullTextSearch(
+            @Parameter(description = "Free-text query, e.g. \"tomato basil\"") @RequestParam String q,
+            @Parameter(description = "Maximum number of results, capped by the server") @RequestParam(required = false) Integer size) {
         
-        List<RecipeDTO> recipeDTOs = recipes.stream()
-                .map(this::mapToDTO)
+        List<RecipeDTO> recipeDTOs = recipeService.fullTextSearch(q, size).stream()
+                .map(RecipeMapper::toDTO)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(recipeDTOs);
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(recipeDTOs);
     }
     
     @PutMapping("/{id}")
@@ -93,13 +305,38 @@ public class RecipeController {
                 content = { @Content(mediaType = "application/json",
                         schema = @Schema(implementation = RecipeDTO.class)) }),
         @ApiResponse(responseCode = "404", description = "Recipe not found", content = @Content),
-        @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content)
+        @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Recipe was modified concurrently", content = @Content),
+        @ApiResponse(responseCode = "412", description = "Recipe no longer matches the If-Match ETag", content = @Content)
     })
     public ResponseEntity<RecipeDTO> updateRecipe(@Parameter(description = "Recipe ID") @PathVariable Long id, 
+                                                 @Parameter(description = "ETag the update is based on") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                  @Valid @RequestBody RecipeRequest request) {
-        Recipe recipeDetails = mapToEntity(request);
-        Recipe updatedRecipe = recipeService.updateRecipe(id, recipeDetails);
-        return ResponseEntity.ok(mapToDTO(updatedRecipe));
+        Recipe recipeDetails = RecipeMapper.toEntity(request);
+        Recipe updatedRecipe = recipeService.updateRecipe(id, recipeDetails, expectedVersion(id, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(versionOf(updatedRecipe).eTag())
+                .body(RecipeMapper.toDTO(updatedRecipe));
+    }
+    
+    @PatchMapping("/{id}/ingredients")
+    @Operation(summary = "Add or remove ingredients", description = "Appends and removes individual ingredients by name, " +
+            "leaving the rest of the recipe's ingredient list untouched")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ingredients updated successfully",
+                content = { @Content(mediaType = "application/json",
+                        schema = @Schema(implementation = RecipeDTO.class)) }),
+        @ApiResponse(responseCode = "404", description = "Recipe not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Recipe was modified concurrently", content = @Content),
+        @ApiResponse(responseCode = "412", description = "Recipe no longer matches the If-Match ETag", content = @Content)
+    })
+    public ResponseEntity<RecipeDTO> patchIngredients(@Parameter(description = "Recipe ID") @PathVariable Long id,
+                                                      @Parameter(description = "ETag the update is based on") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                      @RequestBody IngredientPatchRequest request) {
+        Recipe updatedRecipe = recipeService.patchIngredients(id, request.getAdd(), request.getRemove(), expectedVersion(id, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(versionOf(updatedRecipe).eTag())
+                .body(RecipeMapper.toDTO(updatedRecipe));
     }
     
     @DeleteMapping("/{id}")
@@ -113,31 +350,146 @@ public class RecipeController {
         return ResponseEntity.noContent().build();
     }
 
-    private Recipe mapToEntity(RecipeRequest request) {
-        Recipe recipe = Recipe.builder()
-                .title(request.getTitle())
-                .description(request.getDescription())
-                .instructions(request.getInstructions())
-                .vegetarian(request.getVegetarian() != null ? request.getVegetarian() : false)
-                .servings(request.getServings() != null ? request.getServings() : 1)
-                .build();
-        
-        // Set ingredients using helper method
-        recipe.setIngredientNames(request.getIngredients());
-        return recipe;
+    @DeleteMapping
+    @Operation(summary = "Delete recipes", description = "Deletes the recipes with the given IDs in one statement. " +
+            "IDs that do not exist are ignored")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Recipes deleted successfully"),
+        @ApiResponse(responseCode = "400", description = "More IDs than the maximum page size", content = @Content)
+    })
+    public ResponseEntity<Void> deleteRecipes(@RequestBody List<Long> ids) {
+        recipeService.deleteRecipes(ids);
+        return ResponseEntity.noContent().build();
     }
-    
-    private RecipeDTO mapToDTO(Recipe recipe) {
-        return RecipeDTO.builder()
-                .id(recipe.getId())
-                .title(recipe.getTitle())
-                .description(recipe.getDescription())
-                .ingredients(recipe.getIngredientNames())
-                .instructions(recipe.getInstructions())
-                .vegetarian(recipe.getVegetarian())
-                .servings(recipe.getServings())
-                .createdAt(recipe.getCreatedAt())
-                .updatedAt(recipe.getUpdatedAt())
-                .build();
+
+    // Null means unconditional; a tag that cannot match this recipe fails the precondition outright
+    private static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        return RecipeVersion.versionOf(id, ifMatch)
+                .orElseThrow(() -> new PreconditionFailedException("If-Match " + ifMatch + " is not an ETag of recipe " + id));
+    }
+
+    private static RecipeVersion versionOf(Recipe recipe) {
+        return RecipeVersion.of(recipe.getId(), recipe.getVersion(), recipe.getUpdatedAt(), recipe.getCreatedAt());
+    }
+
+    // NDJSON unless the client asked for JSON without also accepting NDJSON
+    private static boolean acceptsJsonArray(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+        return mediaTypes.stream().anyMatch(MediaType.APPLICATION_JSON::equalsTypeAndSubtype)
+                && mediaTypes.stream().noneMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+    }
+
+    /**
+     * CBOR or Smile when the client ranks one above every other concrete type, and not below a
+     * wildcard; null otherwise, including for headers that do not parse.
+     */
+    private static MediaType preferredBinaryType(String accept) {
+        if (accept == null) {
+            return null;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return null;
+        }
+        MediaType binaryType = null;
+        double binaryQuality = 0;
+        double otherQuality = 0;
+        double wildcardQuality = 0;
+        for (MediaType mediaType : mediaTypes) {
+            double quality = mediaType.getQualityValue();
+            MediaType binary = BINARY_TYPES.stream().filter(mediaType::equalsTypeAndSubtype).findFirst().orElse(null);
+            if (binary != null) {
+                if (quality > binaryQuality) {
+                    binaryType = binary;
+                    binaryQuality = quality;
+                }
+            } else if (mediaType.isWildcardType() || mediaType.isWildcardSubtype()) {
+                wildcardQuality = Math.max(wildcardQuality, quality);
+            } else {
+                otherQuality = Math.max(otherQuality, quality);
+            }
+        }
+        return binaryQuality > otherQuality && binaryQuality >= wildcardQuality ? binaryType : null;
+    }
+
+    /**
+     * Whether gzip is an acceptable coding: listed with a non-zero quality, or covered by a
+     * non-zero {@code *} without being excluded by name.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        double wildcardQuality = 0;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException ex) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (GZIP.equals(name) || "x-gzip".equals(name)) {
+                gzipQuality = Math.max(gzipQuality == null ? 0 : gzipQuality, quality);
+            } else if ("*".equals(name)) {
+                wildcardQuality = quality;
+            }
+        }
+        return gzipQuality != null ? gzipQuality > 0 : wildcardQuality > 0;
+    }
+
+    // Suffix telling the ETag of a CBOR or Smile representation apart from the JSON one
+    private static String representation(MediaType binaryType) {
+        return MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(binaryType) ? "cbor" : "smile";
+    }
+
+    // A page is negotiated like a single recipe, so its JSON, CBOR and Smile bodies need different tags too
+    private static String pageETag(CursorPage<RecipeVersion> page, MediaType binaryType) {
+        String eTag = RecipeVersion.eTag(page);
+        return binaryType != null ? RecipeVersion.variant(eTag, representation(binaryType)) : eTag;
+    }
+
+    // Whether gzip applies depends on the body size, which is unknown before the recipe is loaded
+    private static List<String> candidateETags(String eTag, MediaType binaryType, boolean gzip) {
+        if (binaryType != null) {
+            return List.of(RecipeVersion.variant(eTag, representation(binaryType)));
+        }
+        return gzip ? List.of(RecipeVersion.variant(eTag, GZIP), eTag) : List.of(eTag);
+    }
+
+    /**
+     * Checks the request's validators against the first candidate tag the client holds, or
+     * against the first candidate when it holds none of them.
+     */
+    private static boolean checkNotModified(WebRequest webRequest, List<String> eTags, long lastModified) {
+        String[] headers = webRequest.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        Set<String> held = headers == null ? Set.of() : Arrays.stream(headers)
+                .flatMap(header -> Arrays.stream(header.split(",")))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .collect(Collectors.toSet());
+        String eTag = eTags.stream().filter(held::contains).findFirst().orElse(eTags.get(0));
+        return webRequest.checkNotModified(eTag, lastModified);
+    }
+
+    // The version lookup costs a query, so only pay it when the client can use a 304
+    private static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.recime.api.controller;
+
+import com.recime.api.dto.RecipeDTO;
+import com.recime.api.dto.RecipeRequest;
+import com.recime.api.dto.RecipeView;
+import com.recime.api.entity.Recipe;
+
+/**
+ * Conversions between the API contract and the domain model, shared by every endpoint that
+ * reads or writes recipes.
+ */
+public final class RecipeMapper {
+    
+    private RecipeMapper() {
+    }
+    
+    public static Recipe toEntity(RecipeRequest request) {
+        Recipe recipe = Recipe.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .instructions(request.getInstructions())
+                .vegetarian(request.getVegetarian() != null ? request.getVegetarian() : false)
+                .servings(request.getServings() != null ? request.getServings() : 1)
+                .build();
+        
+        // Set ingredients using helper method
+        recipe.setIngredientNames(request.getIngredients());
+        return recipe;
+    }
+    
+    public static RecipeDTO toDTO(Recipe recipe) {
+        return RecipeDTO.builder()
+                .id(recipe.getId())
+                .title(recipe.getTitle())
+                .description(recipe.getDescription())
+                .ingredients(recipe.getIngredientNames())
+                .instructions(recipe.getInstructions())
+                .vegetarian(recipe.getVegetarian())
+                .servings(recipe.getServings())
+                .createdAt(recipe.getCreatedAt())
+                .updatedAt(recipe.getUpdatedAt())
+                .version(recipe.getVersion())
+                .build();
+    }
+    
+    public static RecipeDTO toDTO(RecipeView view) {
+        return RecipeDTO.builder()
+                .id(view.id())
+                .title(view.title())
+                .description(view.description())
+                .ingredients(view.ingredients())
+                .instructions(view.instructions())
+                .vegetarian(view.vegetarian())
+                .servings(view.servings())
+                .createdAt(view.createdAt())
+                .updatedAt(view.updatedAt())
+                .version(view.version())
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.recime.api.dto;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Getter
+public class BulkImportResult {
+    
+    private int received;
+    
+    // Ids of the created recipes, in input order
+    private final List<Long> createdIds = new ArrayList<>();
+    
+    private final List<ItemError> errors = new ArrayList<>();
+    
+    private long elapsedMillis;
+    
+    public void received() {
+        received++;
+    }
+    
+    public void created(Long id) {
+        createdIds.add(id);
+    }
+    
+    public void failed(int index, List<String> messages) {
+        errors.add(new ItemError(index, messages));
+    }
+    
+    public void finished(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+        // A chunk retried item by item reports after later items that failed validation
+        errors.sort(Comparator.comparingInt(ItemError::index));
+    }
+    
+    // index is the zero-based position of the item in the request body
+    public record ItemError(int index, List<String> messages) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.recime.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private final List<T> items;
+
+    // Opaque token for the next page, null when this is the last page
+    private final String nextCursor;
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = items.stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+        return new CursorPage<>(mapped, nextCursor);
+    }
+}
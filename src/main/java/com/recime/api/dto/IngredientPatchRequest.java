@@ -0,0 +1,18 @@
+package com.recime.api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngredientPatchRequest {
+    
+    // Appended in order, skipping names the recipe already has
+    private List<String> add;
+    
+    // Matched by normalized name
+    private List<String> remove;
+}
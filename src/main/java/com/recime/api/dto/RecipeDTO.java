@@ -20,4 +20,5 @@ public class RecipeDTO {
     private Integer servings;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
\ No newline at end of file
@@ -18,7 +18,7 @@ public class RecipeRequest {
     private String description;
     
     @NotEmpty(message = "At least one ingredient is required")
-    private List<String> ingredients;
+    private List<@NotBlank(message = "Ingredient names must not be blank") String> ingredients;
     
     @NotBlank(message = "Instructions are required")
     private String instructions;
@@ -0,0 +1,17 @@
+package com.recime.api.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * What a recipe list shows, projected straight from the query: no text columns and no
+ * ingredients, so neither is read from the database. Timestamps and version are kept for the
+ * list ETag.
+ */
+public record RecipeSummary(Long id,
+                            String title,
+                            Boolean vegetarian,
+                            Integer servings,
+                            LocalDateTime createdAt,
+                            LocalDateTime updatedAt,
+                            Long version) {
+}
@@ -0,0 +1,68 @@
+package com.recime.api.dto;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * What a recipe representation depends on: its id, optimistic locking version and last
+ * modification time. Cheap to look up on its own, so conditional requests can be answered
+ * without loading or serializing the recipe.
+ */
+public record RecipeVersion(Long id, Long version, LocalDateTime updatedAt) {
+
+    // Also matches the tags of other representations of the same version, see variant()
+    private static final Pattern RECIPE_ETAG = Pattern.compile("\"(\\d+)-(\\d+)(?:-[a-z]+)?\"");
+
+    // Rows written before updated_at was maintained fall back to their creation time
+    public static RecipeVersion of(Long id, Long version, LocalDateTime updatedAt, LocalDateTime createdAt) {
+        return new RecipeVersion(id, version, updatedAt != null ? updatedAt : createdAt);
+    }
+
+    // Strong validator: the version changes with every committed update of the recipe
+    public String eTag() {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Tag of another representation of the same content, such as its gzip coding or a binary
+     * format. Strong validators must differ between representations, or a cache could answer a
+     * conditional request for one with the other.
+     */
+    public static String variant(String eTag, String representation) {
+        return eTag.substring(0, eTag.length() - 1) + "-" + representation + "\"";
+    }
+
+    // Epoch millis, as expected by the Last-Modified handling in WebRequest
+    public long lastModified() {
+        return updatedAt == null ? 0L : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Version carried by an ETag previously returned for the given recipe, empty when the tag
+     * is weak, malformed or belongs to another recipe.
+     */
+    public static Optional<Long> versionOf(Long id, String eTag) {
+        Matcher matcher = RECIPE_ETAG.matcher(eTag.trim());
+        if (!matcher.matches() || !matcher.group(1).equals(String.valueOf(id))) {
+            return Optional.empty();
+        }
+        return Optional.of(Long.valueOf(matcher.group(2)));
+    }
+
+    /**
+     * ETag of a list page: changes whenever a recipe on the page is updated, a recipe enters or
+     * leaves the page, or the page stops or starts having a successor.
+     */
+    public static String eTag(CursorPage<RecipeVersion> page) {
+        StringBuilder versions = new StringBuilder();
+        page.getItems().forEach(version -> versions.append(version.eTag()).append(','));
+        versions.append(page.getNextCursor());
+        return "\"" + DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
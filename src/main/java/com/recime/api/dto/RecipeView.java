@@ -0,0 +1,39 @@
+package com.recime.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-only recipe row projected straight from the query, without managed entities.
+ * Ingredients arrive as one string aggregated in SQL and are split here.
+ */
+public record RecipeView(Long id,
+                         String title,
+                         String description,
+                         List<String> ingredients,
+                         String instructions,
+                         Boolean vegetarian,
+                         Integer servings,
+                         LocalDateTime createdAt,
+                         LocalDateTime updatedAt,
+                         Long version) {
+
+    // ASCII unit separator, never part of an ingredient name
+    public static final String INGREDIENT_SEPARATOR = "\u001F";
+
+    // Used by the JPQL constructor expressions in RecipeRepository
+    public RecipeView(Long id, String title, String description, String aggregatedIngredients, String instructions,
+                      Boolean vegetarian, Integer servings, LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this(id, title, description, splitIngredients(aggregatedIngredients), instructions,
+                vegetarian, servings, createdAt, updatedAt, version);
+    }
+
+    private static List<String> splitIngredients(String aggregatedIngredients) {
+        if (aggregatedIngredients == null || aggregatedIngredients.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(aggregatedIngredients.split(INGREDIENT_SEPARATOR, -1));
+    }
+}
@@ -2,33 +2,79 @@ package com.recime.api.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical ingredient: one row per distinct normalized name, shared by every recipe using it.
+ * Catalog references resolved on the write path are proxies, initialized in batches.
+ */
 @Entity
-@Table(name = "ingredients", indexes = {
-    @Index(name = "idx_ingredient_name", columnList = "name"),
-    @Index(name = "idx_ingredient_recipe_id", columnList = "recipe_id")
+@Table(name = "ingredient_catalog", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_ingredient_catalog_normalized_name", columnNames = "normalized_name")
 })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@BatchSize(size = 128)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ingredient")
 public class Ingredient {
     
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ingredients_seq")
-    @SequenceGenerator(name = "ingredients_seq", sequenceName = "ingredients_seq", allocationSize = 50)
-    private Long id;
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ingredient_catalog_seq")
+    @SequenceGenerator(name = "ingredient_catalog_seq", sequenceName = "ingredient_catalog_seq", allocationSize = 50)
+    private Integer id;
     
+    // Display name, as first entered
     @Column(nullable = false, length = 255)
     private String name;
     
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "recipe_id", nullable = false)
-    private Recipe recipe;
+    // Dictionary key, see normalize(String)
+    @Column(name = "normalized_name", nullable = false, length = 255)
+    private String normalizedName;
+    
+    public Ingredient(String name) {
+        this.name = name;
+        this.normalizedName = normalize(name);
+    }
     
-    public Ingredient(String name, Recipe recipe) {
+    public void setName(String name) {
         this.name = name;
-        this.recipe = recipe;
+        this.normalizedName = normalize(name);
+    }
+    
+    // Covers instances created through the builder
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        normalizedName = normalize(name);
+    }
+    
+    // Goes through the getters, so an initialized proxy is copied as its target
+    public Ingredient detachedCopy() {
+        return new Ingredient(getId(), getName(), getNormalizedName());
+    }
+    
+    /**
+     * Canonical form used to compare ingredient names: NFKC-folded, lower-cased,
+     * trimmed and with inner whitespace collapsed. Keep in sync with the backfill
+     * in 004-normalize-ingredient-names.xml.
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return null;
+        }
+        String folded = Normalizer.normalize(name, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return WHITESPACE.matcher(folded).replaceAll(" ").trim();
     }
-}
\ No newline at end of file
+}
@@ -2,13 +2,24 @@ package com.recime.api.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "recipes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipe")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,13 +32,32 @@ public class Recipe {
     @SequenceGenerator(name = "recipes_seq", sequenceName = "recipes_seq", allocationSize = 50)
     private Long id;
     
+    // Optimistic locking: concurrent updates of the same recipe fail instead of overwriting each other
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     @Column(nullable = false, length = 255)
     private String title;
     
     @Column(columnDefinition = "TEXT")
     private String description;
     
-    @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    // Ordered links to the shared ingredient catalog. Unsaved names are added as transient
+    // Ingredient instances and resolved to catalog rows by RecipeService before saving.
+    // Collections of every recipe in the persistence context are initialized together (one IN/ANY query
+    // per batch) instead of one SELECT per recipe; sized above recipe.pagination.max-page-size + 1.
+    // Links go with their recipe through the foreign key's ON DELETE CASCADE, so deletes (bulk ones
+    // included) issue no separate statement for the join table
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "recipe_ingredient",
+            joinColumns = @JoinColumn(name = "recipe_id"),
+            inverseJoinColumns = @JoinColumn(name = "ingredient_id"),
+            indexes = @Index(name = "idx_recipe_ingredient_ingredient_id", columnList = "ingredient_id, recipe_id"))
+    @OrderColumn(name = "ingredient_position")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @BatchSize(size = 128)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipe-ingredients")
     @Builder.Default
     private List<Ingredient> ingredients = new ArrayList<>();
     
@@ -70,28 +100,78 @@ public class Recipe {
     }
     
     public void setIngredientNames(List<String> ingredientNames) {
+        replaceIngredients(ingredientNames == null ? null : ingredientNames.stream()
+                .map(Ingredient::new)
+                .collect(Collectors.toList()));
+    }
+    
+    /**
+     * Replaces the ingredient list in place. Entries whose normalized name is kept are reused,
+     * and only positions whose ingredient actually changes are touched, so the join table sees
+     * one UPDATE per changed position plus inserts/deletes for a longer/shorter list.
+     * On a managed recipe, pass catalog entries that are already resolved.
+     */
+    public void replaceIngredients(List<Ingredient> replacement) {
         if (this.ingredients == null) {
             this.ingredients = new ArrayList<>();
         }
-        this.ingredients.clear();
-        if (ingredientNames != null) {
-            ingredientNames.forEach(name -> {
-                Ingredient ingredient = new Ingredient(name, this);
-                this.ingredients.add(ingredient);
-            });
+        Map<String, Deque<Ingredient>> existing = new HashMap<>();
+        this.ingredients.forEach(ingredient -> existing
+                .computeIfAbsent(ingredient.getNormalizedName(), key -> new ArrayDeque<>())
+                .add(ingredient));
+        
+        List<Ingredient> updated = new ArrayList<>();
+        if (replacement != null) {
+            for (Ingredient ingredient : replacement) {
+                Deque<Ingredient> kept = existing.get(ingredient.getNormalizedName());
+                updated.add(kept != null && !kept.isEmpty() ? kept.poll() : ingredient);
+            }
         }
+        
+        for (int i = 0; i < updated.size(); i++) {
+            if (i >= this.ingredients.size()) {
+                this.ingredients.add(updated.get(i));
+            } else if (this.ingredients.get(i) != updated.get(i)) {
+                this.ingredients.set(i, updated.get(i));
+            }
+        }
+        while (this.ingredients.size() > updated.size()) {
+            this.ingredients.remove(this.ingredients.size() - 1);
+        }
+    }
+    
+    /**
+     * Copy holding no reference to this instance's persistence context, for handing a loaded
+     * recipe to another thread. The ingredients must already be initialized.
+     */
+    public Recipe detachedCopy() {
+        return Recipe.builder()
+                .id(id)
+                .version(version)
+                .title(title)
+                .description(description)
+                .ingredients(ingredients == null ? null : ingredients.stream()
+                        .map(Ingredient::detachedCopy)
+                        .collect(Collectors.toCollection(ArrayList::new)))
+                .instructions(instructions)
+                .vegetarian(vegetarian)
+                .servings(servings)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
     }
     
     public void addIngredient(String name) {
         if (this.ingredients == null) {
             this.ingredients = new ArrayList<>();
         }
-        this.ingredients.add(new Ingredient(name, this));
+        this.ingredients.add(new Ingredient(name));
     }
     
     public void removeIngredient(String name) {
         if (this.ingredients != null) {
-            this.ingredients.removeIf(ingredient -> ingredient.getName().equals(name));
+            String normalizedName = Ingredient.normalize(name);
+            this.ingredients.removeIf(ingredient -> ingredient.getNormalizedName().equals(normalizedName));
         }
     }
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.recime.api.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -26,6 +30,74 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.NOT_FOUND);
     }
     
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidCursorException(InvalidCursorException ex) {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("message", ex.getMessage());
+        errorDetails.put("status", HttpStatus.BAD_REQUEST.value());
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+    
+    @ExceptionHandler(TooManyIdsException.class)
+    public ResponseEntity<Map<String, Object>> handleTooManyIdsException(TooManyIdsException ex) {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("message", ex.getMessage());
+        errorDetails.put("status", HttpStatus.BAD_REQUEST.value());
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+    
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, Object>> handlePreconditionFailedException(PreconditionFailedException ex) {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("message", ex.getMessage());
+        errorDetails.put("status", HttpStatus.PRECONDITION_FAILED.value());
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.PRECONDITION_FAILED);
+    }
+    
+    // Unconditional writes that lost a race against a concurrent update of the same recipe
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException ex) {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("message", "Recipe was modified concurrently, reload it and retry");
+        errorDetails.put("status", HttpStatus.CONFLICT.value());
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
+    }
+    
+    // No pooled connection became free within spring.datasource.hikari.connection-timeout. Overload,
+    // not a bug, so clients are told to back off instead of getting a 500
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<Map<String, Object>> handleCannotCreateTransactionException(CannotCreateTransactionException ex) {
+        log.warn("Could not start a transaction: {}", ex.getMessage());
+        
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("message", "Service is busy, retry later");
+        errorDetails.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorDetails);
+    }
+    
+    // Otherwise caught by the catch-all below and reported as a 500
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<Map<String, Object>> handleHttpMediaTypeNotSupportedException(HttpMediaTypeNotSupportedException ex) {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("message", ex.getMessage());
+        errorDetails.put("status", HttpStatus.UNSUPPORTED_MEDIA_TYPE.value());
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, Object> errorDetails = new HashMap<>();
@@ -0,0 +1,12 @@
+package com.recime.api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class TooManyIdsException extends RuntimeException {
+
+    public TooManyIdsException(String message) {
+        super(message);
+    }
+}
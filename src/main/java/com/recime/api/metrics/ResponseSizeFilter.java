@@ -0,0 +1,144 @@
+package com.recime.api.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records response body sizes as {@code http.server.response.size}, tagged with the HTTP method and
+ * the matched URI template, the same low-cardinality {@code uri} tag as {@code http.server.requests}.
+ * Bytes are counted as they pass through the output stream, so streamed exports are measured
+ * without buffering them; async responses are recorded when they complete.
+ */
+@RequiredArgsConstructor
+public class ResponseSizeFilter extends OncePerRequestFilter {
+
+    static final String SUMMARY_NAME = "http.server.response.size";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        CountingResponse counting = new CountingResponse(response);
+        filterChain.doFilter(request, counting);
+
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    record(request, counting);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            record(request, counting);
+        }
+    }
+
+    private void record(HttpServletRequest request, CountingResponse response) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        summaries.computeIfAbsent(request.getMethod() + ' ' + uri, key -> DistributionSummary.builder(SUMMARY_NAME)
+                        .description("Response body size")
+                        .baseUnit(BaseUnits.BYTES)
+                        .tag("method", request.getMethod())
+                        .tag("uri", uri)
+                        .register(meterRegistry))
+                .record(response.bytesWritten());
+    }
+
+    // Only the output stream is counted: Spring MVC writes JSON and streaming bodies through it
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private CountingOutputStream outputStream;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        long bytesWritten() {
+            return outputStream == null ? 0 : outputStream.count;
+        }
+    }
+
+    private static final class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private long count;
+
+        CountingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
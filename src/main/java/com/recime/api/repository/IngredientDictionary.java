@@ -0,0 +1,24 @@
+package com.recime.api.repository;
+
+import com.recime.api.entity.Ingredient;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Name to id lookups over the ingredient catalog, served from an in-memory dictionary.
+ */
+public interface IngredientDictionary {
+
+    // Catalog ids of the given names after normalization; names not in the catalog are skipped
+    List<Integer> findIdsByNames(Collection<String> names);
+
+    // Catalog entry for the name, inserted when the catalog does not know it yet
+    Ingredient resolve(String name);
+
+    // Catalog entries by normalized name, looking up all misses in one query before inserting
+    // the missing ones. New entries are written immediately, and a name inserted concurrently by
+    // another transaction resolves to that transaction's row instead of failing
+    Map<String, Ingredient> resolveAll(Collection<String> names);
+}
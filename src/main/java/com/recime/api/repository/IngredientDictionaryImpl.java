@@ -0,0 +1,159 @@
+package com.recime.api.repository;
+
+import com.recime.api.entity.Ingredient;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+class IngredientDictionaryImpl implements IngredientDictionary {
+
+    // A name is retried when a concurrent insert of the same name wins the unique constraint;
+    // more than a couple of rounds only happen if the row keeps disappearing
+    private static final int MAX_INSERT_ATTEMPTS = 3;
+
+    // normalized name -> catalog id. Catalog rows are never updated or deleted, so entries
+    // only need adding, and only once the row is committed
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Integer> findIdsByNames(Collection<String> names) {
+        Set<String> normalizedNames = names.stream()
+                .map(Ingredient::normalize)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        List<Integer> ids = new ArrayList<>(normalizedNames.size());
+        List<String> misses = new ArrayList<>();
+        for (String normalizedName : normalizedNames) {
+            Integer id = idsByName.get(normalizedName);
+            if (id != null) {
+                ids.add(id);
+            } else {
+                misses.add(normalizedName);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            List<Object[]> rows = entityManager.createQuery(
+                            "SELECT i.normalizedName, i.id FROM Ingredient i WHERE i.normalizedName IN (:names)", Object[].class)
+                    .setParameter("names", misses)
+                    .getResultList();
+            for (Object[] row : rows) {
+                cacheAfterCommit((String) row[0], (Integer) row[1]);
+                ids.add((Integer) row[1]);
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public Ingredient resolve(String name) {
+        return resolveAll(List.of(name)).get(Ingredient.normalize(name));
+    }
+
+    @Override
+    public Map<String, Ingredient> resolveAll(Collection<String> names) {
+        // normalized name -> first spelling seen, which becomes the display name of new entries
+        Map<String, String> spellings = new LinkedHashMap<>();
+        names.forEach(name -> spellings.putIfAbsent(Ingredient.normalize(name), name));
+        spellings.remove(null);
+
+        Map<String, Ingredient> resolved = new HashMap<>();
+        Map<String, String> misses = new LinkedHashMap<>();
+        spellings.forEach((normalizedName, spelling) -> {
+            Integer id = idsByName.get(normalizedName);
+            if (id != null) {
+                resolved.put(normalizedName, entityManager.getReference(Ingredient.class, id));
+            } else {
+                misses.put(normalizedName, spelling);
+            }
+        });
+
+        for (int attempt = 1; !misses.isEmpty(); attempt++) {
+            entityManager.createQuery("SELECT i FROM Ingredient i WHERE i.normalizedName IN (:names)", Ingredient.class)
+                    .setParameter("names", misses.keySet())
+                    .getResultList()
+                    .forEach(ingredient -> {
+                        resolved.put(ingredient.getNormalizedName(), ingredient);
+                        misses.remove(ingredient.getNormalizedName());
+                        cacheAfterCommit(ingredient.getNormalizedName(), ingredient.getId());
+                    });
+            if (misses.isEmpty()) {
+                break;
+            }
+            Map<String, Integer> inserted = insert(misses.values(), attempt == MAX_INSERT_ATTEMPTS);
+            inserted.forEach((normalizedName, id) -> {
+                resolved.put(normalizedName, entityManager.getReference(Ingredient.class, id));
+                misses.remove(normalizedName);
+                cacheAfterCommit(normalizedName, id);
+            });
+        }
+        return resolved;
+    }
+
+    /**
+     * Inserts catalog entries right away, behind a savepoint. A concurrent transaction inserting
+     * one of the same names makes the batch fail on the unique constraint; it is then rolled back
+     * to the savepoint, leaving this transaction usable, and an empty map is returned so the
+     * caller reads the row the other transaction committed. Rows go through a stateless session
+     * on the same connection, so a failed insert never reaches this persistence context.
+     */
+    private Map<String, Integer> insert(Collection<String> spellings, boolean lastAttempt) {
+        Session session = entityManager.unwrap(Session.class);
+        return session.doReturningWork(connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            Map<String, Integer> ids = new HashMap<>();
+            try (StatelessSession inserts = session.getSessionFactory().withStatelessOptions()
+                    .connection(connection)
+                    .openStatelessSession()) {
+                for (String spelling : spellings) {
+                    Ingredient ingredient = new Ingredient(spelling);
+                    inserts.insert(ingredient);
+                    ids.put(ingredient.getNormalizedName(), ingredient.getId());
+                }
+            } catch (ConstraintViolationException ex) {
+                connection.rollback(savepoint);
+                if (lastAttempt) {
+                    throw ex;
+                }
+                return Map.of();
+            }
+            connection.releaseSavepoint(savepoint);
+            return ids;
+        });
+    }
+
+    // A rolled back insert must not leave an id behind that no row backs
+    private void cacheAfterCommit(String normalizedName, Integer id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            idsByName.put(normalizedName, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                idsByName.put(normalizedName, id);
+            }
+        });
+    }
+}
@@ -0,0 +1,9 @@
+package com.recime.api.repository;
+
+import com.recime.api.entity.Ingredient;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IngredientRepository extends JpaRepository<Ingredient, Integer>, IngredientDictionary {
+}
@@ -1,26 +1,86 @@
 package com.recime.api.repository;
 
+import com.recime.api.dto.RecipeVersion;
+import com.recime.api.dto.RecipeSummary;
+import com.recime.api.dto.RecipeView;
 import com.recime.api.entity.Recipe;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface RecipeRepository extends JpaRepository<Recipe, Long> {
-
-
-    @Query("SELECT DISTINCT r FROM Recipe r LEFT JOIN r.ingredients i " +
-           "WHERE (:vegetarian IS NULL OR r.vegetarian = :vegetarian) " +
-           "AND (:servings IS NULL OR r.servings = :servings) " +
-           "AND (:includeIngredients IS NULL OR EXISTS (SELECT 1 FROM r.ingredients ing WHERE LOWER(ing.name) IN (:includeIngredients))) " +
-           "AND (:excludeIngredients IS NULL OR NOT EXISTS (SELECT 1 FROM r.ingredients ing2 WHERE LOWER(ing2.name) IN (:excludeIngredients)))" +
-            "AND (:contentToFilter IS NULL OR r.instructions LIKE CONCAT('%', :contentToFilter, '%'))")
-    List<Recipe> searchRecipes(@Param("vegetarian") Boolean vegetarian,
-                              @Param("servings") Integer servings,
-                              @Param("includeIngredients") List<String> includeIngredients,
-                              @Param("excludeIngredients") List<String> excludeIngredients,
-                               @Param("contentToFilter") String contentToFilter);
+public interface RecipeRepository extends JpaRepository<Recipe, Long>, RecipeSearchRepository {
+
+    // Single recipe reads always need the ingredients, so fetch them in the same query
+    @Override
+    @EntityGraph(attributePaths = "ingredients")
+    Optional<Recipe> findById(Long id);
+
+    // Keyset page: recipes after the given id, in id order
+    @Query("SELECT r FROM Recipe r WHERE r.id > :afterId ORDER BY r.id")
+    List<Recipe> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(RECIPE_VIEW_SELECT + "WHERE r.id > :afterId ORDER BY r.id")
+    List<RecipeView> findViewPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(RECIPE_SUMMARY_SELECT + "WHERE r.id > :afterId ORDER BY r.id")
+    List<RecipeSummary> findSummaryPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Conditional GET support: versions only, answered from the primary key index and the row
+    @Query("SELECT new com.recime.api.dto.RecipeVersion(r.id, r.version, COALESCE(r.updatedAt, r.createdAt)) FROM Recipe r WHERE r.id = :id")
+    Optional<RecipeVersion> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.recime.api.dto.RecipeVersion(r.id, r.version, COALESCE(r.updatedAt, r.createdAt)) FROM Recipe r " +
+           "WHERE r.id > :afterId ORDER BY r.id")
+    List<RecipeVersion> findVersionPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Hydrates ids already matched elsewhere (e.g. by RecipeSearchIndex), in id order
+    @Query("SELECT r FROM Recipe r WHERE r.id IN (:ids) ORDER BY r.id")
+    List<Recipe> findAllByIdInOrderById(@Param("ids") Collection<Long> ids);
+
+    @Query(RECIPE_VIEW_SELECT + "WHERE r.id IN (:ids) ORDER BY r.id")
+    List<RecipeView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(RECIPE_SUMMARY_SELECT + "WHERE r.id IN (:ids) ORDER BY r.id")
+    List<RecipeSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Export: every recipe as a view, streamed from an open cursor. DTO rows are not managed,
+    // so the persistence context stays empty however many rows pass through
+    @Query(RECIPE_VIEW_SELECT + "ORDER BY r.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<RecipeView> streamViews();
+
+    // One statement for any number of recipes; ingredient links are removed by ON DELETE CASCADE.
+    // Native, because a JPQL bulk delete first clears the join table with a statement of its own.
+    // The declared tables limit second-level cache eviction to the recipe regions; a native
+    // statement without them invalidates every entity and query region, the catalog included
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM recipes WHERE id IN (:ids)", nativeQuery = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "recipes"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "recipe_ingredient")
+    })
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Index rebuild: [id, vegetarian, servings] per recipe, streamed from an open cursor
+    @Query("SELECT r.id, r.vegetarian, r.servings FROM Recipe r")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamSearchAttributes();
+
+    // Index rebuild: [recipe id, ingredient id] per link
+    @Query("SELECT r.id, i.id FROM Recipe r JOIN r.ingredients i")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamIngredientLinks();
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.recime.api.repository;
+
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Pageable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the search JPQL from the filters that were actually supplied.
+ * Every combination of filters (its "shape") always renders the same string, so Hibernate's
+ * query plan cache and the driver's prepared statement cache reuse one compiled plan per shape.
+ */
+final class RecipeSearchQuery {
+
+    private final StringBuilder where = new StringBuilder("WHERE r.id > :afterId");
+    private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+    private RecipeSearchQuery(Long afterId) {
+        parameters.put("afterId", afterId);
+    }
+
+    /**
+     * Ingredient filters are catalog ids resolved by the caller: null means the filter was not
+     * supplied, an empty include list means none of the requested ingredients exist.
+     */
+    static RecipeSearchQuery of(Boolean vegetarian, Integer servings,
+                                List<Integer> includeIngredientIds,
+                                List<Integer> excludeIngredientIds,
+                                String contentToFilter,
+                                Long afterId) {
+        RecipeSearchQuery query = new RecipeSearchQuery(afterId);
+        if (vegetarian != null) {
+            query.and("r.vegetarian = :vegetarian", "vegetarian", vegetarian);
+        }
+        if (servings != null) {
+            query.and("r.servings = :servings", "servings", servings);
+        }
+        if (includeIngredientIds != null) {
+            if (includeIngredientIds.isEmpty()) {
+                query.where.append(" AND 1 = 0");
+            } else {
+                query.and("EXISTS (SELECT 1 FROM r.ingredients ing WHERE ing.id IN (:includeIngredientIds))",
+                        "includeIngredientIds", includeIngredientIds);
+            }
+        }
+        if (excludeIngredientIds != null && !excludeIngredientIds.isEmpty()) {
+            query.and("NOT EXISTS (SELECT 1 FROM r.ingredients ing2 WHERE ing2.id IN (:excludeIngredientIds))",
+                    "excludeIngredientIds", excludeIngredientIds);
+        }
+        // An empty string used to render LIKE '%%', which matches every recipe
+        if (contentToFilter != null && !contentToFilter.isEmpty()) {
+            query.and("r.instructions LIKE :contentToFilter", "contentToFilter", "%" + contentToFilter + "%");
+        }
+        return query;
+    }
+
+    String jpql(String select) {
+        return select + where + " ORDER BY r.id";
+    }
+
+    Map<String, Object> parameters() {
+        return parameters;
+    }
+
+    <T> TypedQuery<T> bind(TypedQuery<T> query, Pageable pageable) {
+        parameters.forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query;
+    }
+
+    private void and(String predicate, String name, Object value) {
+        where.append(" AND ").append(predicate);
+        parameters.put(name, value);
+    }
+}
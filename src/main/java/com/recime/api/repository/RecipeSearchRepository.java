@@ -0,0 +1,51 @@
+package com.recime.api.repository;
+
+import com.recime.api.dto.RecipeSummary;
+import com.recime.api.dto.RecipeView;
+import com.recime.api.entity.Recipe;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Search fragment of {@link RecipeRepository}, backed by a query that only contains the supplied filters.
+ */
+public interface RecipeSearchRepository {
+
+    // Read-only projection: no entities are hydrated and ingredients are aggregated by the database
+    String RECIPE_VIEW_SELECT = "SELECT new com.recime.api.dto.RecipeView(r.id, r.title, r.description, " +
+           "(SELECT LISTAGG(iv.name, '" + RecipeView.INGREDIENT_SEPARATOR + "') WITHIN GROUP (ORDER BY INDEX(iv)) " +
+           "FROM r.ingredients iv), " +
+           "r.instructions, r.vegetarian, r.servings, r.createdAt, r.updatedAt, r.version) FROM Recipe r ";
+
+    // Summary projection: only the short columns of recipes, no ingredient subquery
+    String RECIPE_SUMMARY_SELECT = "SELECT new com.recime.api.dto.RecipeSummary(r.id, r.title, r.vegetarian, r.servings, " +
+           "r.createdAt, r.updatedAt, r.version) FROM Recipe r ";
+
+    List<Recipe> searchRecipes(Boolean vegetarian,
+                               Integer servings,
+                               List<String> includeIngredients,
+                               List<String> excludeIngredients,
+                               String contentToFilter,
+                               Long afterId,
+                               Pageable pageable);
+
+    List<RecipeView> searchRecipeViews(Boolean vegetarian,
+                                       Integer servings,
+                                       List<String> includeIngredients,
+                                       List<String> excludeIngredients,
+                                       String contentToFilter,
+                                       Long afterId,
+                                       Pageable pageable);
+
+    List<RecipeSummary> searchRecipeSummaries(Boolean vegetarian,
+                                              Integer servings,
+                                              List<String> includeIngredients,
+                                              List<String> excludeIngredients,
+                                              String contentToFilter,
+                                              Long afterId,
+                                              Pageable pageable);
+
+    // Ranked full-text search over title, description and instructions, best matches first
+    List<Recipe> fullTextSearch(String query, int limit);
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.recime.api.repository;
+
+import com.recime.api.dto.RecipeSummary;
+import com.recime.api.dto.RecipeView;
+import com.recime.api.entity.Recipe;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Locale;
+
+class RecipeSearchRepositoryImpl implements RecipeSearchRepository {
+
+    private static final String RECIPE_SELECT = "SELECT r FROM Recipe r ";
+
+    // Query cache region for search results. Entries are keyed by the rendered query and its bound,
+    // already normalized parameters, and are invalidated whenever recipes or their links change
+    static final String SEARCH_CACHE_REGION = "recipe-search";
+
+    // Every column Recipe maps, so native queries can hydrate it; kept in step by RecipeRepositoryTest
+    static final String RECIPE_COLUMNS = "SELECT r.id, r.version, r.title, r.description, r.instructions, r.vegetarian, r.servings, r.created_at, r.updated_at ";
+
+    // search_vector and the trigram indexes come from 003-add-full-text-search.xml (PostgreSQL only)
+    private static final String POSTGRES_FULL_TEXT =
+            RECIPE_COLUMNS + "FROM recipes r, websearch_to_tsquery('english', :query) q " +
+            "WHERE r.search_vector @@ q " +
+            "ORDER BY ts_rank(r.search_vector, q) DESC, r.id LIMIT :limit";
+
+    private static final String POSTGRES_TRIGRAM =
+            RECIPE_COLUMNS + "FROM recipes r " +
+            "WHERE r.title ILIKE :pattern OR r.description ILIKE :pattern OR r.instructions ILIKE :pattern " +
+            "ORDER BY similarity(r.title, :query) DESC, r.id LIMIT :limit";
+
+    // Portable fallback (H2): case-insensitive substring match, ranked by the field that matched
+    private static final String PORTABLE_FULL_TEXT =
+            "SELECT r FROM Recipe r " +
+            "WHERE LOWER(r.title) LIKE :pattern OR LOWER(r.description) LIKE :pattern OR LOWER(r.instructions) LIKE :pattern " +
+            "ORDER BY CASE WHEN LOWER(r.title) LIKE :pattern THEN 0 WHEN LOWER(r.description) LIKE :pattern THEN 1 ELSE 2 END, r.id";
+
+    private final IngredientRepository ingredientRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Boolean postgres;
+
+    RecipeSearchRepositoryImpl(IngredientRepository ingredientRepository) {
+        this.ingredientRepository = ingredientRepository;
+    }
+
+    @Override
+    public List<Recipe> searchRecipes(Boolean vegetarian, Integer servings,
+                                      List<String> includeIngredients,
+                                      List<String> excludeIngredients,
+                                      String contentToFilter,
+                                      Long afterId,
+                                      Pageable pageable) {
+        RecipeSearchQuery query = searchQuery(vegetarian, servings, includeIngredients, excludeIngredients, contentToFilter, afterId);
+        return cacheable(query.bind(entityManager.createQuery(query.jpql(RECIPE_SELECT), Recipe.class), pageable))
+                .getResultList();
+    }
+
+    @Override
+    public List<RecipeView> searchRecipeViews(Boolean vegetarian, Integer servings,
+                                              List<String> includeIngredients,
+                                              List<String> excludeIngredients,
+                                              String contentToFilter,
+                                              Long afterId,
+                                              Pageable pageable) {
+        RecipeSearchQuery query = searchQuery(vegetarian, servings, includeIngredients, excludeIngredients, contentToFilter, afterId);
+        return cacheable(query.bind(entityManager.createQuery(query.jpql(RECIPE_VIEW_SELECT), RecipeView.class), pageable))
+                .getResultList();
+    }
+
+    @Override
+    public List<RecipeSummary> searchRecipeSummaries(Boolean vegetarian, Integer servings,
+                                                     List<String> includeIngredients,
+                                                     List<String> excludeIngredients,
+                                                     String contentToFilter,
+                                                     Long afterId,
+                                                     Pageable pageable) {
+        RecipeSearchQuery query = searchQuery(vegetarian, servings, includeIngredients, excludeIngredients, contentToFilter, afterId);
+        return cacheable(query.bind(entityManager.createQuery(query.jpql(RECIPE_SUMMARY_SELECT), RecipeSummary.class), pageable))
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Recipe> fullTextSearch(String query, int limit) {
+        String pattern = "%" + escapeLike(query.toLowerCase(Locale.ROOT)) + "%";
+        if (!isPostgres()) {
+            return entityManager.createQuery(PORTABLE_FULL_TEXT, Recipe.class)
+                    .setParameter("pattern", pattern)
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+
+        List<Recipe> ranked = entityManager.createNativeQuery(POSTGRES_FULL_TEXT, Recipe.class)
+                .setParameter("query", query)
+                .setParameter("limit", limit)
+                .getResultList();
+        if (!ranked.isEmpty()) {
+            return ranked;
+        }
+        // Partial words ("spag") produce no lexeme match, so fall back to trigram-indexed substring search
+        return entityManager.createNativeQuery(POSTGRES_TRIGRAM, Recipe.class)
+                .setParameter("query", query)
+                .setParameter("pattern", pattern)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+    private static <T> TypedQuery<T> cacheable(TypedQuery<T> query) {
+        return query.setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, SEARCH_CACHE_REGION);
+    }
+
+    // Ingredient filters run on catalog ids looked up in the in-memory dictionary
+    private RecipeSearchQuery searchQuery(Boolean vegetarian, Integer servings,
+                                          List<String> includeIngredients,
+                                          List<String> excludeIngredients,
+                                          String contentToFilter,
+                                          Long afterId) {
+        List<Integer> includeIngredientIds = includeIngredients == null || includeIngredients.isEmpty()
+                ? null : ingredientRepository.findIdsByNames(includeIngredients);
+        List<Integer> excludeIngredientIds = excludeIngredients == null || excludeIngredients.isEmpty()
+                ? null : ingredientRepository.findIdsByNames(excludeIngredients);
+        return RecipeSearchQuery.of(vegetarian, servings, includeIngredientIds, excludeIngredientIds, contentToFilter, afterId);
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect() instanceof PostgreSQLDialect;
+        }
+        return postgres;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,140 @@
+package com.recime.api.service;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-size blocks of direct memory, allocated once and reused, for byte arrays that should not
+ * live on the heap. A value takes as many blocks as it needs, in any order, so the arena never
+ * fragments; the last block of a value wastes at most one block size.
+ * <p>
+ * Allocation and release are synchronized. Reads and writes use absolute positions and do not
+ * lock: callers make sure no block is read after it was released (see RecipeResponseCache).
+ */
+final class OffHeapArena {
+
+    // Direct buffers are indexed by int, so the arena is split into segments
+    private static final int SEGMENT_SIZE = 1 << 28;
+
+    private final int blockSize;
+    private final int blocksPerSegment;
+    private final ByteBuffer[] segments;
+
+    // Stack of free block numbers
+    private final int[] free;
+    private int freeCount;
+
+    OffHeapArena(long capacity, int blockSize) {
+        if (blockSize <= 0 || SEGMENT_SIZE % blockSize != 0) {
+            throw new IllegalArgumentException("Block size must divide " + SEGMENT_SIZE + ", got " + blockSize);
+        }
+        long blocks = capacity / blockSize;
+        if (blocks <= 0 || blocks > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Capacity must hold between 1 and " + Integer.MAX_VALUE + " blocks, got " + capacity);
+        }
+        this.blockSize = blockSize;
+        this.blocksPerSegment = SEGMENT_SIZE / blockSize;
+        this.segments = new ByteBuffer[(int) ((blocks + blocksPerSegment - 1) / blocksPerSegment)];
+        long remaining = blocks * blockSize;
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.allocateDirect((int) Math.min(SEGMENT_SIZE, remaining));
+            remaining -= segments[i].capacity();
+        }
+        this.free = new int[(int) blocks];
+        // Lowest block numbers first, so a lightly used arena only touches its first pages
+        for (int i = 0; i < free.length; i++) {
+            free[i] = free.length - 1 - i;
+        }
+        this.freeCount = free.length;
+    }
+
+    /**
+     * Copies the parts into newly allocated blocks, one after the other. Returns null when the
+     * arena does not have enough free blocks.
+     */
+    Allocation allocate(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        int[] blocks = take((length + blockSize - 1) / blockSize);
+        if (blocks == null) {
+            return null;
+        }
+        Allocation allocation = new Allocation(blocks, length);
+        int offset = 0;
+        for (byte[] part : parts) {
+            write(allocation, offset, part);
+            offset += part.length;
+        }
+        return allocation;
+    }
+
+    byte[] read(Allocation allocation, int offset, int length) {
+        byte[] value = new byte[length];
+        int copied = 0;
+        while (copied < length) {
+            int position = offset + copied;
+            int block = allocation.blocks()[position / blockSize];
+            int inBlock = position % blockSize;
+            int chunk = Math.min(blockSize - inBlock, length - copied);
+            segment(block).get(index(block) + inBlock, value, copied, chunk);
+            copied += chunk;
+        }
+        return value;
+    }
+
+    synchronized void release(Allocation allocation) {
+        for (int block : allocation.blocks()) {
+            free[freeCount++] = block;
+        }
+    }
+
+    synchronized int freeBlocks() {
+        return freeCount;
+    }
+
+    int blockSize() {
+        return blockSize;
+    }
+
+    long capacity() {
+        return (long) free.length * blockSize;
+    }
+
+    private synchronized int[] take(int count) {
+        if (count > freeCount) {
+            return null;
+        }
+        int[] blocks = new int[count];
+        for (int i = 0; i < count; i++) {
+            blocks[i] = free[--freeCount];
+        }
+        return blocks;
+    }
+
+    private void write(Allocation allocation, int offset, byte[] value) {
+        int written = 0;
+        while (written < value.length) {
+            int position = offset + written;
+            int block = allocation.blocks()[position / blockSize];
+            int inBlock = position % blockSize;
+            int chunk = Math.min(blockSize - inBlock, value.length - written);
+            segment(block).put(index(block) + inBlock, value, written, chunk);
+            written += chunk;
+        }
+    }
+
+    private ByteBuffer segment(int block) {
+        return segments[block / blocksPerSegment];
+    }
+
+    private int index(int block) {
+        return (block % blocksPerSegment) * blockSize;
+    }
+
+    /**
+     * Blocks holding one value of {@code length} bytes. Only the block numbers live on the heap.
+     */
+    record Allocation(int[] blocks, int length) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.recime.api.service;
+
+import com.recime.api.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the keyset position (last recipe id returned) as an opaque URL-safe token,
+ * so clients never build cursors themselves and the encoding can change later.
+ */
+public final class RecipeCursor {
+
+    // Recipe ids come from recipes_seq, which starts at 1
+    public static final long START = 0L;
+
+    private static final String PREFIX = "r:";
+
+    private RecipeCursor() {
+    }
+
+    public static String encode(Long lastId) {
+        String raw = PREFIX + lastId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+}
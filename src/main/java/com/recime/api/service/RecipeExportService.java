@@ -0,0 +1,90 @@
+package com.recime.api.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.recime.api.dto.RecipeView;
+import com.recime.api.repository.RecipeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the whole catalog straight from a database cursor to the response, one recipe at a
+ * time, so memory use does not grow with the number of recipes.
+ */
+@Service
+@Slf4j
+public class RecipeExportService {
+
+    // CBOR and Smile are written as one array, like JSON
+    public enum Format { NDJSON, JSON, CBOR, SMILE }
+
+    private final RecipeRepository recipeRepository;
+    private final ObjectMapper objectMapper;
+    // Flushing after every recipe would push each one to the socket on its own
+    private final ObjectWriter writer;
+    private final CBORFactory cborFactory = new CBORFactory();
+    private final SmileFactory smileFactory = new SmileFactory();
+
+    public RecipeExportService(RecipeRepository recipeRepository, ObjectMapper objectMapper) {
+        this.recipeRepository = recipeRepository;
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // The cursor only streams inside a transaction, so this must run on the thread writing the response
+    @Transactional(readOnly = true)
+    public long exportRecipes(OutputStream out, Format format, boolean gzip) throws IOException {
+        if (!gzip) {
+            return write(StreamUtils.nonClosing(out), format);
+        }
+        try (GZIPOutputStream compressed = new GZIPOutputStream(StreamUtils.nonClosing(out), 8192)) {
+            return write(compressed, format);
+        }
+    }
+
+    private long write(OutputStream out, Format format) throws IOException {
+        long started = System.nanoTime();
+        long count = 0;
+        try (Stream<RecipeView> views = recipeRepository.streamViews();
+             JsonGenerator generator = factory(format).createGenerator(out)) {
+            if (format == Format.NDJSON) {
+                // Lines are terminated explicitly instead
+                generator.setRootValueSeparator(null);
+            } else {
+                generator.writeStartArray();
+            }
+            for (Iterator<RecipeView> it = views.iterator(); it.hasNext(); count++) {
+                writer.writeValue(generator, it.next());
+                if (format == Format.NDJSON) {
+                    generator.writeRaw('\n');
+                }
+            }
+            if (format != Format.NDJSON) {
+                generator.writeEndArray();
+            }
+        }
+        log.info("Exported {} recipes in {} ms", count, (System.nanoTime() - started) / 1_000_000);
+        return count;
+    }
+
+    private JsonFactory factory(Format format) {
+        return switch (format) {
+            case NDJSON, JSON -> objectMapper.getFactory();
+            case CBOR -> cborFactory;
+            case SMILE -> smileFactory;
+        };
+    }
+}
@@ -0,0 +1,129 @@
+package com.recime.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recime.api.config.BulkImportProperties;
+import com.recime.api.dto.BulkImportResult;
+import com.recime.api.dto.RecipeRequest;
+import com.recime.api.entity.Recipe;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Imports recipes from a JSON array or newline-delimited JSON without holding the whole body:
+ * items are parsed one at a time, validated, and written in chunks of one transaction each.
+ * A chunk that fails is retried item by item so one bad recipe does not reject its neighbours.
+ * <p>
+ * With open-in-view, every chunk transaction joins the request's persistence context, so it is
+ * cleared after each chunk; otherwise every imported recipe would stay managed until the response
+ * and each flush would dirty-check all of them.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RecipeImportService {
+
+    private final RecipeService recipeService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final BulkImportProperties bulkImportProperties;
+    private final EntityManager entityManager;
+
+    public BulkImportResult importRecipes(InputStream body, Function<RecipeRequest, Recipe> toEntity) throws IOException {
+        long started = System.nanoTime();
+        BulkImportResult result = new BulkImportResult();
+        List<Item> chunk = new ArrayList<>(bulkImportProperties.getChunkSize());
+
+        // A root-level array is iterated element by element; otherwise the reader walks a
+        // sequence of root values, which is exactly what NDJSON is. Items are read as trees so a
+        // value of the wrong type fails only its own item, not the rest of the stream
+        try (MappingIterator<JsonNode> items = objectMapper.readerFor(JsonNode.class).readValues(body)) {
+            while (items.hasNextValue()) {
+                int index = result.getReceived();
+                JsonNode node = items.nextValue();
+                result.received();
+
+                RecipeRequest request;
+                try {
+                    request = objectMapper.treeToValue(node, RecipeRequest.class);
+                } catch (JsonProcessingException ex) {
+                    result.failed(index, List.of(ex.getOriginalMessage()));
+                    continue;
+                }
+                Set<ConstraintViolation<RecipeRequest>> violations = validator.validate(request);
+                if (!violations.isEmpty()) {
+                    result.failed(index, violations.stream()
+                            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                            .sorted()
+                            .toList());
+                    continue;
+                }
+                chunk.add(new Item(index, request));
+                if (chunk.size() >= bulkImportProperties.getChunkSize()) {
+                    write(chunk, toEntity, result);
+                }
+            }
+        } catch (JsonProcessingException ex) {
+            // The parser cannot resynchronise after malformed input, so the rest of the body is dropped
+            result.failed(result.getReceived(), List.of("Malformed JSON: " + ex.getOriginalMessage()));
+        }
+        write(chunk, toEntity, result);
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        result.finished(elapsedMillis);
+        log.info("Imported {} of {} recipes in {} ms ({} recipes/s)", result.getCreatedIds().size(), result.getReceived(),
+                elapsedMillis, elapsedMillis == 0 ? result.getCreatedIds().size() : result.getCreatedIds().size() * 1000L / elapsedMillis);
+        return result;
+    }
+
+    private void write(List<Item> chunk, Function<RecipeRequest, Recipe> toEntity, BulkImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            recipeService.createRecipes(chunk.stream().map(item -> toEntity.apply(item.request())).toList())
+                    .forEach(recipe -> result.created(recipe.getId()));
+        } catch (RuntimeException chunkFailure) {
+            log.debug("Chunk of {} recipes failed, retrying one by one", chunk.size(), chunkFailure);
+            // Entities from the rolled back transaction may carry ids, so each retry maps the request afresh
+            for (Item item : chunk) {
+                try {
+                    result.created(recipeService.createRecipe(toEntity.apply(item.request())).getId());
+                } catch (RuntimeException ex) {
+                    log.warn("Could not import recipe {} of the body", item.index(), ex);
+                    result.failed(item.index(), List.of(reason(ex)));
+                }
+            }
+        }
+        chunk.clear();
+        // Only the request-scoped context is cleared; a caller's transaction keeps its entities
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.clear();
+        }
+    }
+
+    // Database messages name tables and constraints, so clients only get a fixed reason
+    private static String reason(RuntimeException ex) {
+        return ex instanceof DataIntegrityViolationException
+                ? "Recipe conflicts with existing data"
+                : "Recipe could not be saved";
+    }
+
+    private record Item(int index, RecipeRequest request) {
+    }
+}
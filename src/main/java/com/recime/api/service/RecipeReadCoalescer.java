@@ -0,0 +1,152 @@
+package com.recime.api.service;
+
+import com.recime.api.config.CoalescingProperties;
+import com.recime.api.entity.Recipe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-flight for RecipeService reads: while a call is in flight, identical calls (same method,
+ * equal arguments) wait for it and get its result or exception instead of querying again. Nothing
+ * is kept once the call returns.
+ * <p>
+ * A caller only joins a call that started after the last write through this instance completed.
+ * Reads arriving while a write is running go to the database on their own, and every finished
+ * write moves the calls started before it to an older generation that later callers no longer
+ * match, so nobody gets a result from before a write that committed before they asked.
+ * <p>
+ * Only reads whose results can be shared between request threads are coalesced: projections and
+ * versions, which are immutable, and single recipes, whose ingredients are fetched with the
+ * recipe. The recipe entity itself stays with the session that loaded it; callers that joined
+ * get their own detached copy, taken on the loading thread. Entity pages are left out, their
+ * ingredients load lazily through the caller's session.
+ * Calls inside a transaction run on their own, since they may see that transaction's writes.
+ * <p>
+ * Callers that joined another call are counted in {@code recipe.service.coalesced} per method.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class RecipeReadCoalescer {
+
+    static final String COUNTER_NAME = "recipe.service.coalesced";
+
+    private final CoalescingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Call, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Method, Counter> counters = new ConcurrentHashMap<>();
+    private final AtomicInteger writesInFlight = new AtomicInteger();
+    private final AtomicLong generation = new AtomicLong();
+
+    @Around("execution(public * com.recime.api.service.RecipeService.getRecipeById(..)) " +
+            "|| execution(public * com.recime.api.service.RecipeService.findRecipeVersion(..)) " +
+            "|| execution(public * com.recime.api.service.RecipeService.getRecipeVersions(..)) " +
+            "|| execution(public * com.recime.api.service.RecipeService.getRecipeViews(..)) " +
+            "|| execution(public * com.recime.api.service.RecipeService.getRecipeSummaries(..)) " +
+            "|| execution(public * com.recime.api.service.RecipeService.searchRecipeViews(..)) " +
+            "|| execution(public * com.recime.api.service.RecipeService.searchRecipeSummaries(..))")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!properties.isEnabled() || TransactionSynchronizationManager.isActualTransactionActive()
+                || writesInFlight.get() > 0) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Call call = new Call(method, Arrays.asList(joinPoint.getArgs()), generation.get());
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(call, result);
+        if (running != null) {
+            counter(method).increment();
+            return detached(await(running));
+        }
+        try {
+            Object value = joinPoint.proceed();
+            result.complete(detached(value));
+            return value;
+        } catch (Throwable ex) {
+            result.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(call, result);
+        }
+    }
+
+    /**
+     * Keeps reads from being coalesced until the write has committed or rolled back. Writes that
+     * join an outer transaction only count as finished when that transaction completes.
+     */
+    @Around("execution(public * com.recime.api.service.RecipeService.create*(..)) " +
+            "|| execution(public * com.recime.api.service.RecipeService.update*(..)) " +
+            "|| execution(public * com.recime.api.service.RecipeService.patch*(..)) " +
+            "|| execution(public * com.recime.api.service.RecipeService.delete*(..))")
+    public Object fence(ProceedingJoinPoint joinPoint) throws Throwable {
+        writesInFlight.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    writeCompleted();
+                }
+            });
+            return joinPoint.proceed();
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            writeCompleted();
+        }
+    }
+
+    // The generation moves before the count drops, so a read that sees no write in flight also
+    // sees the new generation
+    private void writeCompleted() {
+        generation.incrementAndGet();
+        writesInFlight.decrementAndGet();
+    }
+
+    // Managed entities are not thread-safe and belong to the caller's persistence context
+    private static Object detached(Object value) {
+        return value instanceof Recipe recipe ? recipe.detachedCopy() : value;
+    }
+
+    // Rethrows what the shared call threw, so callers see the same exceptions as without coalescing
+    private static Object await(CompletableFuture<Object> running) throws Throwable {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private Counter counter(Method method) {
+        return counters.computeIfAbsent(method, key -> Counter.builder(COUNTER_NAME)
+                .description("RecipeService reads answered by a concurrent identical call")
+                .tag("method", key.getName())
+                .register(meterRegistry));
+    }
+
+    // Arguments are ids, filters, cursors and sizes, all with value equality
+    private record Call(Method method, List<Object> args, long generation) {
+    }
+}
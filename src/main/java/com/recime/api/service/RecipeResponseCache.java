@@ -0,0 +1,259 @@
+package com.recime.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.recime.api.config.ResponseCacheProperties;
+import com.recime.api.config.ResponseCacheProperties.Storage;
+import com.recime.api.dto.RecipeDTO;
+import com.recime.api.dto.RecipeVersion;
+import com.recime.api.entity.Recipe;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Ready-to-send bodies of GET /api/recipes/{id}: the UTF-8 JSON and, once a client asked for it,
+ * the gzip variant of larger recipes, so a hit costs neither serialization nor compression. Bounded by the total size of the
+ * cached bytes; Caffeine's W-TinyLFU policy decides which recipes are kept, so a burst of one-off
+ * reads does not push out the popular ones.
+ * <p>
+ * With {@code storage=off-heap} the bodies live in an {@link OffHeapArena} of {@code max-size}
+ * direct memory and only small handles stay on the heap, so a large hot set adds neither heap
+ * footprint nor old-generation GC work. A hit then copies the body out of the arena.
+ * <p>
+ * Entries carry the recipe version. When a write commits, the entry is replaced by a marker with
+ * the committed version (or, for deletes, a version no read can reach); a read that loaded the
+ * recipe before the commit then cannot put the older body back. Markers weigh nothing and are
+ * skipped when the arena makes room, so they only leave the cache by expiring or being replaced.
+ */
+@Component
+public class RecipeResponseCache {
+
+    private static final long DELETED = Long.MAX_VALUE;
+
+    // Rough per-entry overhead of the key, entry and array headers
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private static final int EVICTION_BATCH = 16;
+
+    private final ResponseCacheProperties properties;
+    private final ObjectMapper objectMapper;
+    private final OffHeapArena arena;
+    private final Cache<Long, Cached> entries;
+
+    public RecipeResponseCache(ResponseCacheProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.arena = properties.isEnabled() && properties.getStorage() == Storage.OFF_HEAP
+                ? new OffHeapArena(properties.getMaxSize().toBytes(), (int) properties.getBlockSize().toBytes())
+                : null;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((Long id, Cached cached) -> cached.weight())
+                .expireAfterWrite(properties.getTimeToLive())
+                // Run on the removing thread, so blocks are free again before the next allocation
+                .executor(Runnable::run)
+                .removalListener((Long id, Cached cached, RemovalCause cause) -> release(cached))
+                .build();
+    }
+
+    /**
+     * The cached body of the recipe, or null when there is none or the cache is disabled.
+     */
+    public Entry get(Long id) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        Cached cached = entries.getIfPresent(id);
+        if (cached == null || cached.isMarker()) {
+            return null;
+        }
+        if (cached.allocation() == null) {
+            return cached.entry();
+        }
+        Entry entry = cached.copyOut(arena);
+        // Blocks are only released after their entry left the map: if it is still there, the copy is intact
+        return entries.policy().getIfPresentQuietly(id) == cached ? entry : null;
+    }
+
+    /**
+     * Serializes the recipe and caches the result unless a newer version was committed meanwhile.
+     * The entry is returned either way, so the caller can send it.
+     */
+    public Entry put(RecipeVersion version, RecipeDTO recipe) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(recipe);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        Entry entry = new Entry(version.version(), version.eTag(), version.lastModified(), json, null);
+        if (properties.isEnabled()) {
+            Cached cached = arena == null ? Cached.onHeap(entry) : store(entry);
+            if (cached != null) {
+                Cached kept = entries.asMap().merge(version.id(), cached,
+                        (current, loaded) -> loaded.version() >= current.version() ? loaded : current);
+                if (kept != cached) {
+                    release(cached);
+                }
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * The gzip variant of an entry of this recipe, or null when the body is below
+     * {@code compression-min-size}. Compressed on the first request that accepts gzip and then
+     * kept with the entry, as long as the cache still holds that version.
+     */
+    public byte[] gzip(Long id, Entry entry) {
+        if (entry.gzip() != null) {
+            return entry.gzip();
+        }
+        if (entry.json().length < properties.getCompressionMinSize().toBytes()) {
+            return null;
+        }
+        byte[] gzip = gzip(entry.json());
+        if (properties.isEnabled()) {
+            Entry compressed = new Entry(entry.version(), entry.eTag(), entry.lastModified(), entry.json(), gzip);
+            Cached cached = arena == null ? Cached.onHeap(compressed) : store(compressed);
+            if (cached != null) {
+                // A newer version, a marker or a concurrently compressed entry stays
+                Cached kept = entries.asMap().computeIfPresent(id, (key, current) ->
+                        current.version() == entry.version() && !current.isMarker() && !current.hasGzip() ? cached : current);
+                if (kept != cached) {
+                    release(cached);
+                }
+            }
+        }
+        return gzip;
+    }
+
+    // Called by RecipeService within the writing transaction; the version is read once it committed
+    public void invalidate(Recipe recipe) {
+        afterCommit(() -> entries.put(recipe.getId(), Cached.marker(recipe.getVersion())));
+    }
+
+    public void invalidateDeleted(Long id) {
+        afterCommit(() -> entries.put(id, Cached.marker(DELETED)));
+    }
+
+    // Caffeine may keep the arena filled right up to max-size, so room for a new body is made by
+    // first catching up on pending evictions and then dropping the coldest entries that hold blocks
+    private Cached store(Entry entry) {
+        long length = entry.json().length + (entry.gzip() == null ? 0 : entry.gzip().length);
+        if (length > arena.capacity()) {
+            return null;
+        }
+        OffHeapArena.Allocation allocation = allocate(entry);
+        if (allocation == null) {
+            entries.cleanUp();
+            allocation = allocate(entry);
+        }
+        while (allocation == null) {
+            List<Long> coldest = entries.policy().eviction().orElseThrow().coldest(stream -> stream
+                    .filter(cached -> cached.getValue().allocation() != null)
+                    .limit(EVICTION_BATCH)
+                    .map(Map.Entry::getKey)
+                    .toList());
+            if (coldest.isEmpty()) {
+                return null;
+            }
+            entries.invalidateAll(coldest);
+            allocation = allocate(entry);
+        }
+        return Cached.offHeap(entry, allocation, arena.blockSize());
+    }
+
+    private OffHeapArena.Allocation allocate(Entry entry) {
+        return entry.gzip() == null ? arena.allocate(entry.json()) : arena.allocate(entry.json(), entry.gzip());
+    }
+
+    private void release(Cached cached) {
+        if (cached != null && cached.allocation() != null) {
+            arena.release(cached.allocation());
+        }
+    }
+
+    private void afterCommit(Runnable invalidation) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidation.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidation.run();
+            }
+        });
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * One recipe body with its validators. {@code gzip} stays null until a client asks for it, see
+     * {@link #gzip(Long, Entry)}; {@code eTag} is the tag of the uncompressed JSON.
+     */
+    public record Entry(long version, String eTag, long lastModified, byte[] json, byte[] gzip) {
+    }
+
+    /**
+     * What the cache holds: the entry itself on the heap, the entry's validators plus its arena
+     * blocks off the heap, or only a version for invalidation markers.
+     */
+    private record Cached(long version, Entry entry, String eTag, long lastModified,
+                          OffHeapArena.Allocation allocation, int jsonLength, int weight) {
+
+        static Cached onHeap(Entry entry) {
+            int weight = ENTRY_OVERHEAD + entry.json().length + (entry.gzip() == null ? 0 : entry.gzip().length);
+            return new Cached(entry.version(), entry, null, 0, null, 0, weight);
+        }
+
+        // The json and gzip bodies are stored back to back in one allocation, weighed by its blocks
+        static Cached offHeap(Entry entry, OffHeapArena.Allocation allocation, int blockSize) {
+            return new Cached(entry.version(), null, entry.eTag(), entry.lastModified(), allocation,
+                    entry.json().length, allocation.blocks().length * blockSize);
+        }
+
+        // Zero weight keeps size-based eviction away from markers
+        static Cached marker(Long version) {
+            return new Cached(version == null ? 0 : version, null, null, 0, null, 0, 0);
+        }
+
+        boolean isMarker() {
+            return entry == null && allocation == null;
+        }
+
+        boolean hasGzip() {
+            return entry != null ? entry.gzip() != null : allocation != null && allocation.length() > jsonLength;
+        }
+
+        Entry copyOut(OffHeapArena arena) {
+            byte[] json = arena.read(allocation, 0, jsonLength);
+            byte[] gzip = allocation.length() > jsonLength
+                    ? arena.read(allocation, jsonLength, allocation.length() - jsonLength)
+                    : null;
+            return new Entry(version, eTag, lastModified, json, gzip);
+        }
+    }
+}
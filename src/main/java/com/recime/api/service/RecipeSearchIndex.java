@@ -0,0 +1,379 @@
+package com.recime.api.service;
+
+import com.recime.api.config.SearchIndexProperties;
+import com.recime.api.entity.Ingredient;
+import com.recime.api.entity.Recipe;
+import com.recime.api.repository.RecipeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index for the structured search filters: one bitmap of recipe ids per
+ * catalog ingredient, plus bitmaps for vegetarian and each servings value. A search is answered
+ * with AND/OR/ANDNOT over the bitmaps and only the matching page is loaded from the database.
+ * <p>
+ * Bitmaps are {@link RoaringBitmap}s, whose size follows the number of recipes they hold rather
+ * than the highest id, so the long tail of rarely used ingredients stays small. Nothing else is
+ * kept per recipe: an update clears the bits of the attributes the recipe had before it, which
+ * the caller takes from the entity. Writes are applied once their transaction commits; the index
+ * is rebuilt from the tables at startup.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecipeSearchIndex {
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final SearchIndexProperties properties;
+    private final RecipeRepository recipeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private State state = new State();
+
+    private volatile boolean ready;
+
+    // Writes committed while a rebuild streams the tables, replayed onto the rebuilt state
+    private List<Write> pendingWrites;
+
+    /**
+     * What a recipe is indexed under. Take it from the managed recipe before changing it, and
+     * pass it along with the saved recipe so its old bits can be cleared.
+     */
+    public record Attributes(boolean vegetarian, Integer servings, int[] ingredientIds) {
+
+        public static Attributes of(Recipe recipe) {
+            return new Attributes(Boolean.TRUE.equals(recipe.getVegetarian()), recipe.getServings(),
+                    recipe.getIngredients().stream()
+                            .map(Ingredient::getId)
+                            .filter(Objects::nonNull)
+                            .mapToInt(Integer::intValue)
+                            .toArray());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingWrites = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Rows go straight into the bitmaps; links of recipes created between the two queries are
+        // skipped, their commit is among the pending writes
+        State rebuilt = new State();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = recipeRepository.streamSearchAttributes()) {
+                    rows.forEach(row -> {
+                        Long id = (Long) row[0];
+                        if (!rebuilt.add(id, Boolean.TRUE.equals(row[1]), (Integer) row[2])) {
+                            throw new IllegalStateException("Recipe id " + id + " does not fit the search index");
+                        }
+                    });
+                }
+                try (Stream<Object[]> links = recipeRepository.streamIngredientLinks()) {
+                    links.forEach(link -> rebuilt.link((Long) link[0], (Integer) link[1]));
+                }
+            });
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Could not rebuild the recipe search index, searches use the database", ex);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            boolean fits = true;
+            for (Write write : pendingWrites) {
+                fits &= write.applyTo(rebuilt);
+            }
+            pendingWrites = null;
+            rebuilt.optimize();
+            state = rebuilt;
+            ready = fits;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Recipe search index rebuilt with {} recipes, {} KB of bitmaps", rebuilt.all.getLongCardinality(), rebuilt.sizeInBytes() / 1024);
+    }
+
+    /**
+     * Records a newly created recipe; call after it has been saved. Ingredients must already be
+     * resolved to catalog entries.
+     */
+    public void index(Recipe recipe) {
+        index(null, recipe);
+    }
+
+    /**
+     * Records the recipe's current filter attributes in place of {@code previous}, taken before
+     * the change; call after it has been saved.
+     */
+    public void index(Attributes previous, Recipe recipe) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        afterCommit(new Change(recipe.getId(), previous, Attributes.of(recipe)));
+    }
+
+    // Drops a recipe whose attributes are known, without touching the other bitmaps
+    public void remove(Recipe recipe) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        afterCommit(new Change(recipe.getId(), Attributes.of(recipe), null));
+    }
+
+    // Drops recipes deleted without being loaded: one pass over every bitmap for the whole batch
+    public void removeAll(Collection<Long> recipeIds) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        RoaringBitmap removed = new RoaringBitmap();
+        recipeIds.stream()
+                .filter(id -> id >= 0 && id <= Integer.MAX_VALUE)
+                .forEach(id -> removed.add(id.intValue()));
+        afterCommit(new Removal(removed));
+    }
+
+    /**
+     * Ids of the recipes after {@code afterId} matching every supplied filter, in id order.
+     * A null argument means the filter was not supplied; include matches recipes with any of
+     * the given ingredients, exclude drops recipes with any of them.
+     */
+    public List<Long> search(Boolean vegetarian, Integer servings,
+                             Collection<Integer> includeIngredientIds,
+                             Collection<Integer> excludeIngredientIds,
+                             Long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            // Positive filters are intersected starting from the smallest bitmap; all recipes
+            // only seed the result when no filter narrows it
+            List<RoaringBitmap> required = new ArrayList<>();
+            if (Boolean.TRUE.equals(vegetarian)) {
+                required.add(state.vegetarian);
+            }
+            if (servings != null) {
+                required.add(state.byServings.getOrDefault(servings, EMPTY));
+            }
+            if (includeIngredientIds != null) {
+                required.add(FastAggregation.or(includeIngredientIds.stream()
+                        .map(id -> state.byIngredient.getOrDefault(id, EMPTY))
+                        .iterator()));
+            }
+            if (required.isEmpty()) {
+                required.add(state.all);
+            }
+            required.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+            RoaringBitmap matches = required.get(0).clone();
+            for (int i = 1; i < required.size() && !matches.isEmpty(); i++) {
+                matches.and(required.get(i));
+            }
+            if (Boolean.FALSE.equals(vegetarian)) {
+                matches.andNot(state.vegetarian);
+            }
+            if (excludeIngredientIds != null) {
+                excludeIngredientIds.forEach(id -> matches.andNot(state.byIngredient.getOrDefault(id, EMPTY)));
+            }
+
+            List<Long> ids = new ArrayList<>(Math.min(limit, 128));
+            if (afterId >= Integer.MAX_VALUE) {
+                return ids;
+            }
+            PeekableIntIterator iterator = matches.getIntIterator();
+            iterator.advanceIfNeeded((int) (afterId + 1));
+            while (iterator.hasNext() && ids.size() < limit) {
+                ids.add((long) iterator.next());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // A rolled back write must not reach the index
+    private void afterCommit(Write write) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(write);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(write);
+            }
+        });
+    }
+
+    private void apply(Write write) {
+        lock.writeLock().lock();
+        try {
+            if (pendingWrites != null) {
+                pendingWrites.add(write);
+            }
+            if (!write.applyTo(state) && ready) {
+                ready = false;
+                log.warn("{} does not fit the search index, searches use the database", write);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Applying a write twice, or to a state that already has it, leaves the same bits set
+    private interface Write {
+        // False when a recipe id is beyond the int range the bitmaps are addressed with
+        boolean applyTo(State state);
+    }
+
+    // Null previous: the recipe was not indexed before; null current: it was deleted
+    private record Change(Long id, Attributes previous, Attributes current) implements Write {
+
+        @Override
+        public boolean applyTo(State state) {
+            if (id > Integer.MAX_VALUE) {
+                return false;
+            }
+            int bit = id.intValue();
+            if (previous != null) {
+                state.clear(bit, previous);
+            }
+            if (current == null) {
+                state.all.remove(bit);
+            } else {
+                state.add(id, current.vegetarian(), current.servings());
+                for (int ingredientId : current.ingredientIds()) {
+                    state.link(id, ingredientId);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "Recipe id " + id;
+        }
+    }
+
+    private record Removal(RoaringBitmap ids) implements Write {
+
+        @Override
+        public boolean applyTo(State state) {
+            state.all.andNot(ids);
+            state.vegetarian.andNot(ids);
+            State.andNot(state.byServings, ids);
+            State.andNot(state.byIngredient, ids);
+            return true;
+        }
+    }
+
+    private static final class State {
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final RoaringBitmap vegetarian = new RoaringBitmap();
+        private final Map<Integer, RoaringBitmap> byServings = new HashMap<>();
+        private final Map<Integer, RoaringBitmap> byIngredient = new HashMap<>();
+
+        // False when the id is beyond the int range the bitmaps are addressed with
+        private boolean add(Long id, boolean isVegetarian, Integer servings) {
+            if (id > Integer.MAX_VALUE) {
+                return false;
+            }
+            int bit = id.intValue();
+            all.add(bit);
+            if (isVegetarian) {
+                vegetarian.add(bit);
+            }
+            byServings.computeIfAbsent(servings, key -> new RoaringBitmap()).add(bit);
+            return true;
+        }
+
+        // Links of recipes the index does not hold are ignored
+        private void link(Long recipeId, Integer ingredientId) {
+            if (recipeId <= Integer.MAX_VALUE && all.contains(recipeId.intValue())) {
+                byIngredient.computeIfAbsent(ingredientId, key -> new RoaringBitmap()).add(recipeId.intValue());
+            }
+        }
+
+        private void clear(int bit, Attributes attributes) {
+            if (attributes.vegetarian()) {
+                vegetarian.remove(bit);
+            }
+            clear(byServings, attributes.servings(), bit);
+            for (int ingredientId : attributes.ingredientIds()) {
+                clear(byIngredient, ingredientId, bit);
+            }
+        }
+
+        // Switches runs of consecutive ids to run containers once the bulk load is done
+        private void optimize() {
+            all.runOptimize();
+            vegetarian.runOptimize();
+            byServings.values().forEach(RoaringBitmap::runOptimize);
+            byIngredient.values().forEach(RoaringBitmap::runOptimize);
+        }
+
+        private long sizeInBytes() {
+            return all.getLongSizeInBytes() + vegetarian.getLongSizeInBytes()
+                    + byServings.values().stream().mapToLong(RoaringBitmap::getLongSizeInBytes).sum()
+                    + byIngredient.values().stream().mapToLong(RoaringBitmap::getLongSizeInBytes).sum();
+        }
+
+        private static void clear(Map<Integer, RoaringBitmap> bitmaps, Integer key, int bit) {
+            RoaringBitmap bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                bitmap.remove(bit);
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove(key);
+                }
+            }
+        }
+
+        private static void andNot(Map<Integer, RoaringBitmap> bitmaps, RoaringBitmap ids) {
+            bitmaps.values().removeIf(bitmap -> {
+                bitmap.andNot(ids);
+                return bitmap.isEmpty();
+            });
+        }
+    }
+}
@@ -1,13 +1,33 @@
 package com.recime.api.service;
 
+import com.recime.api.config.PaginationProperties;
+import com.recime.api.dto.CursorPage;
+import com.recime.api.dto.RecipeSummary;
+import com.recime.api.dto.RecipeVersion;
+import com.recime.api.dto.RecipeView;
+import com.recime.api.entity.Ingredient;
 import com.recime.api.entity.Recipe;
+import com.recime.api.exception.PreconditionFailedException;
 import com.recime.api.exception.ResourceNotFoundException;
+import com.recime.api.exception.TooManyIdsException;
+import com.recime.api.repository.IngredientRepository;
 import com.recime.api.repository.RecipeRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -15,9 +35,41 @@ import java.util.List;
 public class RecipeService {
     
     private final RecipeRepository recipeRepository;
+    private final PaginationProperties paginationProperties;
+    private final IngredientRepository ingredientRepository;
+    private final RecipeSearchIndex recipeSearchIndex;
+    private final RecipeResponseCache recipeResponseCache;
     
     public Recipe createRecipe(Recipe recipe) {
-        return recipeRepository.save(recipe);
+        resolveIngredients(recipe);
+        Recipe saved = recipeRepository.save(recipe);
+        recipeSearchIndex.index(saved);
+        return saved;
+    }
+    
+    /**
+     * Inserts the recipes in one transaction. All catalog lookups for the batch happen up front,
+     * so the inserts are queued until commit and go out as JDBC batches.
+     */
+    public List<Recipe> createRecipes(List<Recipe> recipes) {
+        List<String> names = recipes.stream()
+                .map(Recipe::getIngredients)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .filter(ingredient -> ingredient.getId() == null)
+                .map(Ingredient::getName)
+                .toList();
+        Map<String, Ingredient> catalog = ingredientRepository.resolveAll(names);
+        for (Recipe recipe : recipes) {
+            List<Ingredient> ingredients = recipe.getIngredients();
+            if (ingredients != null) {
+                ingredients.replaceAll(ingredient -> ingredient.getId() != null
+                        ? ingredient : catalog.get(ingredient.getNormalizedName()));
+            }
+        }
+        List<Recipe> saved = recipeRepository.saveAll(recipes);
+        saved.forEach(recipeSearchIndex::index);
+        return saved;
     }
     
     @Transactional(readOnly = true)
@@ -27,34 +79,274 @@ public class RecipeService {
     }
     
     @Transactional(readOnly = true)
-    public List<Recipe> getAllRecipes() {
-        return recipeRepository.findAll();
+    public Optional<RecipeVersion> findRecipeVersion(Long id) {
+        return recipeRepository.findVersionById(id);
+    }
+    
+    // Versions of the recipes that getRecipes/getRecipeViews would return for the same cursor and size
+    @Transactional(readOnly = true)
+    public CursorPage<RecipeVersion> getRecipeVersions(String cursor, Integer size) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        List<RecipeVersion> versions = recipeRepository.findVersionPageAfter(RecipeCursor.decode(cursor), PageRequest.ofSize(pageSize + 1));
+        return toPage(versions, pageSize, RecipeVersion::id);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<Recipe> getRecipes(String cursor, Integer size) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        List<Recipe> recipes = recipeRepository.findPageAfter(RecipeCursor.decode(cursor), PageRequest.ofSize(pageSize + 1));
+        return toPage(recipes, pageSize, Recipe::getId);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<RecipeView> getRecipeViews(String cursor, Integer size) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        List<RecipeView> views = recipeRepository.findViewPageAfter(RecipeCursor.decode(cursor), PageRequest.ofSize(pageSize + 1));
+        return toPage(views, pageSize, RecipeView::id);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<RecipeSummary> getRecipeSummaries(String cursor, Integer size) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        List<RecipeSummary> summaries = recipeRepository.findSummaryPageAfter(RecipeCursor.decode(cursor), PageRequest.ofSize(pageSize + 1));
+        return toPage(summaries, pageSize, RecipeSummary::id);
+    }
+    
+    // Recipes that exist among the given ids, in id order; unknown ids are skipped
+    @Transactional(readOnly = true)
+    public List<Recipe> getRecipesByIds(Collection<Long> ids) {
+        Set<Long> distinctIds = checkIds(ids);
+        return distinctIds.isEmpty() ? List.of() : recipeRepository.findAllByIdInOrderById(distinctIds);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<RecipeView> getRecipeViewsByIds(Collection<Long> ids) {
+        Set<Long> distinctIds = checkIds(ids);
+        return distinctIds.isEmpty() ? List.of() : recipeRepository.findViewsByIdIn(distinctIds);
     }
     
     public Recipe updateRecipe(Long id, Recipe recipeDetails) {
+        return updateRecipe(id, recipeDetails, null);
+    }
+    
+    /**
+     * Updates the recipe only if it is still at {@code expectedVersion} (null skips the check).
+     * No row lock is taken: a concurrent writer is detected by the versioned UPDATE itself.
+     */
+    public Recipe updateRecipe(Long id, Recipe recipeDetails, Long expectedVersion) {
         Recipe recipe = getRecipeById(id);
+        checkVersion(recipe, expectedVersion);
+        RecipeSearchIndex.Attributes indexed = RecipeSearchIndex.Attributes.of(recipe);
         
         recipe.setTitle(recipeDetails.getTitle());
         recipe.setDescription(recipeDetails.getDescription());
-        recipe.setIngredientNames(recipeDetails.getIngredientNames());
+        // Resolved before touching the managed collection, so catalog lookups never auto-flush
+        // a list that still holds unsaved entries
+        resolveIngredients(recipeDetails);
+        recipe.replaceIngredients(recipeDetails.getIngredients());
         recipe.setInstructions(recipeDetails.getInstructions());
         recipe.setVegetarian(recipeDetails.getVegetarian());
         recipe.setServings(recipeDetails.getServings());
         
-        return recipeRepository.save(recipe);
+        Recipe saved = expectedVersion == null ? recipeRepository.save(recipe) : saveAndFlush(recipe, expectedVersion);
+        recipeSearchIndex.index(indexed, saved);
+        recipeResponseCache.invalidate(saved);
+        return saved;
+    }
+    
+    /**
+     * Adds and removes single ingredients, leaving the rest of the list untouched. Names already
+     * on the recipe are not added twice; removing a name the recipe does not have is a no-op.
+     */
+    public Recipe patchIngredients(Long id, List<String> add, List<String> remove, Long expectedVersion) {
+        Recipe recipe = getRecipeById(id);
+        checkVersion(recipe, expectedVersion);
+        RecipeSearchIndex.Attributes indexed = RecipeSearchIndex.Attributes.of(recipe);
+        
+        // Everything is resolved before the collection changes: a catalog lookup or insert would
+        // otherwise auto-flush the half-patched recipe, bumping its version mid-patch
+        Set<String> removed = remove == null ? Set.of() : remove.stream()
+                .map(Ingredient::normalize)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> present = recipe.getIngredients().stream()
+                .map(Ingredient::getNormalizedName)
+                .filter(name -> !removed.contains(name))
+                .collect(Collectors.toCollection(HashSet::new));
+        List<String> added = add == null ? List.of() : add.stream()
+                .filter(Objects::nonNull)
+                .filter(name -> present.add(Ingredient.normalize(name)))
+                .toList();
+        Map<String, Ingredient> catalog = added.isEmpty() ? Map.of() : ingredientRepository.resolveAll(added);
+        
+        if (remove != null) {
+            remove.forEach(recipe::removeIngredient);
+        }
+        added.forEach(name -> recipe.getIngredients().add(catalog.get(Ingredient.normalize(name))));
+        
+        Recipe saved = expectedVersion == null ? recipeRepository.save(recipe) : saveAndFlush(recipe, expectedVersion);
+        recipeSearchIndex.index(indexed, saved);
+        recipeResponseCache.invalidate(saved);
+        return saved;
     }
     
     public void deleteRecipe(Long id) {
         Recipe recipe = getRecipeById(id);
         recipeRepository.delete(recipe);
+        recipeSearchIndex.remove(recipe);
+        recipeResponseCache.invalidateDeleted(id);
+    }
+    
+    /**
+     * Deletes the recipes in one statement without loading them. Unknown ids are ignored, so
+     * repeating a request is harmless. Returns how many recipes were deleted.
+     */
+    public int deleteRecipes(Collection<Long> ids) {
+        Set<Long> distinctIds = checkIds(ids);
+        if (distinctIds.isEmpty()) {
+            return 0;
+        }
+        int deleted = recipeRepository.deleteAllByIdIn(distinctIds);
+        recipeSearchIndex.removeAll(distinctIds);
+        distinctIds.forEach(recipeResponseCache::invalidateDeleted);
+        return deleted;
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<Recipe> searchRecipes(Boolean vegetarian, Integer servings, 
+                                     List<String> includeIngredients,
+                                     List<String> excludeIngredients,
+                                      String contentToFilter,
+                                      String cursor, Integer size) {
+        
+        int pageSize = paginationProperties.resolvePageSize(size);
+        Long afterId = RecipeCursor.decode(cursor);
+        List<Long> indexed = searchIndex(vegetarian, servings, includeIngredients, excludeIngredients, contentToFilter, afterId, pageSize + 1);
+        if (indexed != null) {
+            return toIndexedPage(indexed, pageSize, recipeRepository::findAllByIdInOrderById);
+        }
+        List<Recipe> recipes = recipeRepository.searchRecipes(vegetarian, servings, includeIngredients, excludeIngredients, contentToFilter,
+                afterId, PageRequest.ofSize(pageSize + 1));
+        return toPage(recipes, pageSize, Recipe::getId);
     }
     
     @Transactional(readOnly = true)
-    public List<Recipe> searchRecipes(Boolean vegetarian, Integer servings, 
+    public CursorPage<RecipeView> searchRecipeViews(Boolean vegetarian, Integer servings,
                                      List<String> includeIngredients,
                                      List<String> excludeIngredients,
-                                      String contentToFilter) {
+                                      String contentToFilter,
+                                      String cursor, Integer size) {
         
-        return recipeRepository.searchRecipes(vegetarian, servings, includeIngredients, excludeIngredients, contentToFilter);
+        int pageSize = paginationProperties.resolvePageSize(size);
+        Long afterId = RecipeCursor.decode(cursor);
+        List<Long> indexed = searchIndex(vegetarian, servings, includeIngredients, excludeIngredients, contentToFilter, afterId, pageSize + 1);
+        if (indexed != null) {
+            return toIndexedPage(indexed, pageSize, recipeRepository::findViewsByIdIn);
+        }
+        List<RecipeView> views = recipeRepository.searchRecipeViews(vegetarian, servings, includeIngredients, excludeIngredients, contentToFilter,
+                afterId, PageRequest.ofSize(pageSize + 1));
+        return toPage(views, pageSize, RecipeView::id);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<RecipeSummary> searchRecipeSummaries(Boolean vegetarian, Integer servings,
+                                                           List<String> includeIngredients,
+                                                           List<String> excludeIngredients,
+                                                           String contentToFilter,
+                                                           String cursor, Integer size) {
+        
+        int pageSize = paginationProperties.resolvePageSize(size);
+        Long afterId = RecipeCursor.decode(cursor);
+        List<Long> indexed = searchIndex(vegetarian, servings, includeIngredients, excludeIngredients, contentToFilter, afterId, pageSize + 1);
+        if (indexed != null) {
+            return toIndexedPage(indexed, pageSize, recipeRepository::findSummariesByIdIn);
+        }
+        List<RecipeSummary> summaries = recipeRepository.searchRecipeSummaries(vegetarian, servings, includeIngredients, excludeIngredients, contentToFilter,
+                afterId, PageRequest.ofSize(pageSize + 1));
+        return toPage(summaries, pageSize, RecipeSummary::id);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<Recipe> fullTextSearch(String query, Integer size) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return recipeRepository.fullTextSearch(query.trim(), paginationProperties.resolvePageSize(size));
+    }
+    
+    // Id lists share the page size cap, keeping IN lists and responses bounded
+    private Set<Long> checkIds(Collection<Long> ids) {
+        Set<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (distinctIds.size() > paginationProperties.getMaxPageSize()) {
+            throw new TooManyIdsException("At most " + paginationProperties.getMaxPageSize() + " ids are allowed per request, got "
+                    + distinctIds.size());
+        }
+        return distinctIds;
+    }
+    
+    private void checkVersion(Recipe recipe, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(recipe.getVersion())) {
+            throw new PreconditionFailedException("Recipe " + recipe.getId() + " is at version " + recipe.getVersion()
+                    + ", not " + expectedVersion);
+        }
+    }
+    
+    // Flushes now so that losing the race to another writer surfaces as 412 rather than at commit
+    private Recipe saveAndFlush(Recipe recipe, Long expectedVersion) {
+        try {
+            return recipeRepository.saveAndFlush(recipe);
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            throw new PreconditionFailedException("Recipe " + recipe.getId() + " was modified after version " + expectedVersion);
+        }
+    }
+    
+    // Ids matched by the in-memory index, or null when the search has to run in the database.
+    // Instruction text is not indexed, so a content filter always goes to the database
+    private List<Long> searchIndex(Boolean vegetarian, Integer servings,
+                                   List<String> includeIngredients,
+                                   List<String> excludeIngredients,
+                                   String contentToFilter,
+                                   Long afterId, int limit) {
+        if (!recipeSearchIndex.isReady() || (contentToFilter != null && !contentToFilter.isEmpty())) {
+            return null;
+        }
+        List<Integer> includeIngredientIds = includeIngredients == null || includeIngredients.isEmpty()
+                ? null : ingredientRepository.findIdsByNames(includeIngredients);
+        List<Integer> excludeIngredientIds = excludeIngredients == null || excludeIngredients.isEmpty()
+                ? null : ingredientRepository.findIdsByNames(excludeIngredients);
+        return recipeSearchIndex.search(vegetarian, servings, includeIngredientIds, excludeIngredientIds, afterId, limit);
+    }
+    
+    // Swaps names added to the recipe for their shared catalog entries, creating missing ones
+    private void resolveIngredients(Recipe recipe) {
+        List<Ingredient> ingredients = recipe.getIngredients();
+        if (ingredients == null) {
+            return;
+        }
+        // Only unresolved positions are written, so an unchanged list leaves the collection clean
+        for (int i = 0; i < ingredients.size(); i++) {
+            if (ingredients.get(i).getId() == null) {
+                ingredients.set(i, ingredientRepository.resolve(ingredients.get(i).getName()));
+            }
+        }
+    }
+    
+    // Paging follows the ids the index matched, so a recipe deleted after it was indexed makes the
+    // page shorter without ending the listing early
+    private <T> CursorPage<T> toIndexedPage(List<Long> ids, int pageSize, Function<List<Long>, List<T>> load) {
+        List<Long> pageIds = ids.size() > pageSize ? List.copyOf(ids.subList(0, pageSize)) : ids;
+        List<T> rows = pageIds.isEmpty() ? List.of() : load.apply(pageIds);
+        return new CursorPage<>(rows, ids.size() > pageSize ? RecipeCursor.encode(pageIds.get(pageSize - 1)) : null);
+    }
+    
+    // One extra row is fetched to know whether another page exists without a COUNT query
+    private <T> CursorPage<T> toPage(List<T> rows, int pageSize, Function<T, Long> idOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> page = rows.subList(0, pageSize);
+        return new CursorPage<>(page, RecipeCursor.encode(idOf.apply(page.get(pageSize - 1))));
     }
-}
\ No newline at end of file
+}
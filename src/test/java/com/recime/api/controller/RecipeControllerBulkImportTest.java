@@ -0,0 +1,67 @@
+package com.recime.api.controller;
+
+import com.recime.api.service.RecipeService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Runs the whole stack, so the import shares the request's open-in-view persistence context
+@SpringBootTest(properties = "recipe.bulk-import.chunk-size=2")
+@AutoConfigureMockMvc
+class RecipeControllerBulkImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @SpyBean
+    private RecipeService recipeService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void createRecipes_ShouldNotKeepEarlierChunksManaged() throws Exception {
+        // Entities managed by the request's persistence context when each chunk starts
+        List<Integer> managedBeforeChunk = new ArrayList<>();
+        doAnswer(invocation -> {
+            managedBeforeChunk.add(entityManager.unwrap(SessionImplementor.class)
+                    .getPersistenceContextInternal()
+                    .getNumberOfManagedEntities());
+            return invocation.callRealMethod();
+        }).when(recipeService).createRecipes(anyList());
+        String body = IntStream.rangeClosed(1, 7)
+                .mapToObj(i -> "{\"title\":\"Import " + i + "\",\"ingredients\":[\"Flour\",\"Water " + i + "\"],\"instructions\":\"Bake\"}")
+                .collect(Collectors.joining("\n"));
+
+        mockMvc.perform(post("/api/recipes/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(7)))
+                .andExpect(jsonPath("$.createdIds", hasSize(7)))
+                .andExpect(jsonPath("$.errors", hasSize(0)));
+
+        assertThat(managedBeforeChunk).hasSize(4).containsOnly(0);
+    }
+}
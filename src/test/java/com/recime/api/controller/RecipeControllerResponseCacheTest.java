@@ -0,0 +1,101 @@
+package com.recime.api.controller;
+
+import com.recime.api.config.ReadModelProperties;
+import com.recime.api.config.ResponseCacheProperties;
+import com.recime.api.entity.Recipe;
+import com.recime.api.service.RecipeExportService;
+import com.recime.api.service.RecipeImportService;
+import com.recime.api.service.RecipeResponseCache;
+import com.recime.api.service.RecipeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// The cache outlives single tests, so every test uses its own recipe id
+@WebMvcTest(value = RecipeController.class, properties = "recipe.response-cache.enabled=true")
+@EnableConfigurationProperties({ ReadModelProperties.class, ResponseCacheProperties.class })
+@Import(RecipeResponseCache.class)
+class RecipeControllerResponseCacheTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private RecipeResponseCache recipeResponseCache;
+    
+    @MockBean
+    private RecipeService recipeService;
+    
+    @MockBean
+    private RecipeImportService recipeImportService;
+    
+    @MockBean
+    private RecipeExportService recipeExportService;
+    
+    @Test
+    void getRecipeById_WhenCached_ShouldNotLoadRecipeAgain() throws Exception {
+        when(recipeService.getRecipeById(1L)).thenReturn(recipe(1L, 0L));
+        
+        mockMvc.perform(get("/api/recipes/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/recipes/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-0\""))
+                .andExpect(jsonPath("$.title", is("Soup")));
+        
+        verify(recipeService, times(1)).getRecipeById(1L);
+    }
+    
+    @Test
+    void getRecipeById_WhenCachedWithCurrentETag_ShouldReturnNotModifiedWithoutQueries() throws Exception {
+        when(recipeService.getRecipeById(2L)).thenReturn(recipe(2L, 0L));
+        mockMvc.perform(get("/api/recipes/2")).andExpect(status().isOk());
+        
+        mockMvc.perform(get("/api/recipes/2").header(HttpHeaders.IF_NONE_MATCH, "\"2-0\""))
+                .andExpect(status().isNotModified());
+        
+        verify(recipeService, never()).findRecipeVersion(any());
+    }
+    
+    @Test
+    void getRecipeById_AfterUpdate_ShouldLoadNewVersion() throws Exception {
+        when(recipeService.getRecipeById(3L)).thenReturn(recipe(3L, 0L), recipe(3L, 1L));
+        mockMvc.perform(get("/api/recipes/3")).andExpect(status().isOk());
+        
+        recipeResponseCache.invalidate(recipe(3L, 1L));
+        
+        mockMvc.perform(get("/api/recipes/3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3-1\""));
+        verify(recipeService, times(2)).getRecipeById(3L);
+    }
+    
+    private static Recipe recipe(Long id, Long version) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        Recipe recipe = Recipe.builder()
+                .id(id)
+                .title("Soup")
+                .instructions("Simmer")
+                .vegetarian(true)
+                .servings(2)
+                .createdAt(now)
+                .updatedAt(now)
+                .version(version)
+                .build();
+        recipe.setIngredientNames(List.of("Tomato"));
+        return recipe;
+    }
+}
@@ -1,31 +1,62 @@
 package com.recime.api.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.recime.api.config.ReadModelProperties;
+import com.recime.api.config.ResponseCacheProperties;
+import com.recime.api.config.WireFormatConfig;
+import com.recime.api.dto.BulkImportResult;
+import com.recime.api.dto.CursorPage;
+import com.recime.api.dto.IngredientPatchRequest;
 import com.recime.api.dto.RecipeRequest;
+import com.recime.api.dto.RecipeSummary;
+import com.recime.api.dto.RecipeVersion;
 import com.recime.api.entity.Recipe;
+import com.recime.api.exception.InvalidCursorException;
+import com.recime.api.exception.PreconditionFailedException;
 import com.recime.api.exception.ResourceNotFoundException;
+import com.recime.api.exception.TooManyIdsException;
+import com.recime.api.service.RecipeExportService;
+import com.recime.api.service.RecipeImportService;
+import com.recime.api.service.RecipeResponseCache;
 import com.recime.api.service.RecipeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.CannotCreateTransactionException;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(RecipeController.class)
+@EnableConfigurationProperties({ ReadModelProperties.class, ResponseCacheProperties.class })
+@Import({ RecipeResponseCache.class, WireFormatConfig.class })
 class RecipeControllerTest {
     
     @Autowired
@@ -37,6 +68,12 @@ class RecipeControllerTest {
     @MockBean
     private RecipeService recipeService;
     
+    @MockBean
+    private RecipeImportService recipeImportService;
+    
+    @MockBean
+    private RecipeExportService recipeExportService;
+    
     private Recipe testRecipe;
     private RecipeRequest testRequest;
     
@@ -52,6 +89,7 @@ class RecipeControllerTest {
                 .servings(4)
                 .createdAt(now)
                 .updatedAt(now)
+                .version(0L)
                 .build();
         
         // Set ingredients using helper method
@@ -83,6 +121,17 @@ class RecipeControllerTest {
         verify(recipeService, times(1)).createRecipe(any(Recipe.class));
     }
     
+    @Test
+    void createRecipe_WithSmileBody_ShouldReturnCreatedRecipe() throws Exception {
+        when(recipeService.createRecipe(any(Recipe.class))).thenReturn(testRecipe);
+        
+        mockMvc.perform(post("/api/recipes")
+                .contentType(WireFormatConfig.APPLICATION_SMILE)
+                .content(new SmileMapper().writeValueAsBytes(testRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.title", is("Test Recipe")));
+    }
+    
     @Test
     void createRecipe_WithInvalidData_ShouldReturnBadRequest() throws Exception {
         RecipeRequest invalidRequest = RecipeRequest.builder()
@@ -98,6 +147,17 @@ class RecipeControllerTest {
         verify(recipeService, never()).createRecipe(any(Recipe.class));
     }
     
+    @Test
+    void createRecipe_WithNullIngredient_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/recipes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Soup\",\"ingredients\":[\"Tomato\",null],\"instructions\":\"Cook\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors['ingredients[1]']", is("Ingredient names must not be blank")));
+        
+        verify(recipeService, never()).createRecipe(any(Recipe.class));
+    }
+    
     @Test
     void getRecipeById_WhenRecipeExists_ShouldReturnRecipe() throws Exception {
         when(recipeService.getRecipeById(1L)).thenReturn(testRecipe);
@@ -110,6 +170,146 @@ class RecipeControllerTest {
         verify(recipeService, times(1)).getRecipeById(1L);
     }
     
+    @Test
+    void getRecipeById_ShouldReturnValidators() throws Exception {
+        RecipeVersion version = new RecipeVersion(1L, 0L, testRecipe.getUpdatedAt());
+        when(recipeService.getRecipeById(1L)).thenReturn(testRecipe);
+        
+        mockMvc.perform(get("/api/recipes/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, version.eTag()))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+        
+        verify(recipeService, never()).findRecipeVersion(any());
+    }
+    
+    @Test
+    void getRecipeById_WithCurrentETag_ShouldReturnNotModifiedWithoutLoadingRecipe() throws Exception {
+        RecipeVersion version = new RecipeVersion(1L, 0L, testRecipe.getUpdatedAt());
+        when(recipeService.findRecipeVersion(1L)).thenReturn(Optional.of(version));
+        
+        mockMvc.perform(get("/api/recipes/1").header(HttpHeaders.IF_NONE_MATCH, version.eTag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        
+        verify(recipeService, never()).getRecipeById(any());
+    }
+    
+    @Test
+    void getRecipeById_WithStaleETag_ShouldReturnRecipe() throws Exception {
+        when(recipeService.findRecipeVersion(1L)).thenReturn(Optional.of(new RecipeVersion(1L, 0L, testRecipe.getUpdatedAt())));
+        when(recipeService.getRecipeById(1L)).thenReturn(testRecipe);
+        
+        mockMvc.perform(get("/api/recipes/1").header(HttpHeaders.IF_NONE_MATCH, "\"1-7\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)));
+    }
+    
+    @Test
+    void getRecipeById_WithGzipAccepted_ShouldReturnCompressedBody() throws Exception {
+        testRecipe.setInstructions("Stir. ".repeat(500));
+        when(recipeService.getRecipeById(1L)).thenReturn(testRecipe);
+        
+        MvcResult result = mockMvc.perform(get("/api/recipes/1").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-0-gzip\""))
+                .andReturn();
+        
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertThat(objectMapper.readTree(in).get("id").asLong()).isEqualTo(1L);
+        }
+    }
+    
+    @Test
+    void getRecipeById_WithGzipRefused_ShouldReturnPlainJson() throws Exception {
+        testRecipe.setInstructions("Stir. ".repeat(500));
+        when(recipeService.getRecipeById(1L)).thenReturn(testRecipe);
+        
+        mockMvc.perform(get("/api/recipes/1").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, *;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-0\""));
+        mockMvc.perform(get("/api/recipes/1").header(HttpHeaders.ACCEPT_ENCODING, "identity, *;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+    
+    @Test
+    void getRecipeById_WithCurrentGzipETag_ShouldReturnNotModifiedWithThatTag() throws Exception {
+        RecipeVersion version = new RecipeVersion(1L, 0L, testRecipe.getUpdatedAt());
+        when(recipeService.findRecipeVersion(1L)).thenReturn(Optional.of(version));
+        
+        mockMvc.perform(get("/api/recipes/1")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-0-gzip\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-0-gzip\""));
+        
+        verify(recipeService, never()).getRecipeById(any());
+    }
+    
+    @Test
+    void getRecipeById_WithJsonETagForCbor_ShouldReturnCbor() throws Exception {
+        when(recipeService.findRecipeVersion(1L)).thenReturn(Optional.of(new RecipeVersion(1L, 0L, testRecipe.getUpdatedAt())));
+        when(recipeService.getRecipeById(1L)).thenReturn(testRecipe);
+        
+        mockMvc.perform(get("/api/recipes/1")
+                        .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+    
+    @Test
+    void getRecipeById_WithoutGzipAccepted_ShouldReturnPlainJson() throws Exception {
+        testRecipe.setInstructions("Stir. ".repeat(500));
+        when(recipeService.getRecipeById(1L)).thenReturn(testRecipe);
+        
+        mockMvc.perform(get("/api/recipes/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id", is(1)));
+    }
+    
+    @Test
+    void getRecipeById_WithCborAccepted_ShouldReturnCbor() throws Exception {
+        when(recipeService.getRecipeById(1L)).thenReturn(testRecipe);
+        
+        MvcResult result = mockMvc.perform(get("/api/recipes/1").header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-0-cbor\""))
+                .andReturn();
+        
+        JsonNode recipe = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertThat(recipe.get("title").asText()).isEqualTo("Test Recipe");
+        assertThat(recipe.get("ingredients")).extracting(JsonNode::asText).containsExactly("Ingredient 1", "Ingredient 2");
+        // Same date format as JSON, not Jackson's timestamp default
+        assertThat(recipe.get("createdAt").isTextual()).isTrue();
+    }
+    
+    @Test
+    void getRecipeById_WithJsonPreferredOverCbor_ShouldReturnJson() throws Exception {
+        when(recipeService.getRecipeById(1L)).thenReturn(testRecipe);
+        
+        mockMvc.perform(get("/api/recipes/1").header(HttpHeaders.ACCEPT, "application/cbor;q=0.5, application/json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id", is(1)));
+    }
+    
+    @Test
+    void getRecipeById_WithAnyTypeAccepted_ShouldReturnJson() throws Exception {
+        when(recipeService.getRecipeById(1L)).thenReturn(testRecipe);
+        
+        mockMvc.perform(get("/api/recipes/1").header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+    
     @Test
     void getRecipeById_WhenRecipeDoesNotExist_ShouldReturnNotFound() throws Exception {
         when(recipeService.getRecipeById(99L))
@@ -136,20 +336,151 @@ class RecipeControllerTest {
     void getAllRecipes_ShouldReturnListOfRecipes() throws Exception {
         List<Recipe> recipes = Arrays.asList(testRecipe, 
                 Recipe.builder().id(2L).title("Recipe 2").build());
-        when(recipeService.getAllRecipes()).thenReturn(recipes);
+        when(recipeService.getRecipes(null, null)).thenReturn(new CursorPage<>(recipes, null));
         
         mockMvc.perform(get("/api/recipes"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].title", is("Test Recipe")))
-                .andExpect(jsonPath("$[1].title", is("Recipe 2")));
+                .andExpect(jsonPath("$[1].title", is("Recipe 2")))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+        
+        verify(recipeService, times(1)).getRecipes(null, null);
+    }
+    
+    @Test
+    void getAllRecipes_WithSmileAccepted_ShouldReturnSmile() throws Exception {
+        when(recipeService.getRecipes(null, null)).thenReturn(new CursorPage<>(Arrays.asList(testRecipe), null));
+        
+        MvcResult result = mockMvc.perform(get("/api/recipes").header(HttpHeaders.ACCEPT, WireFormatConfig.APPLICATION_SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(WireFormatConfig.APPLICATION_SMILE))
+                .andReturn();
+        
+        JsonNode recipes = new SmileMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertThat(recipes).hasSize(1);
+        assertThat(recipes.get(0).get("title").asText()).isEqualTo("Test Recipe");
+    }
+    
+    @Test
+    void getRecipeSummaries_ShouldReturnShortFieldsOnly() throws Exception {
+        RecipeSummary summary = new RecipeSummary(1L, "Test Recipe", true, 4, testRecipe.getCreatedAt(), testRecipe.getUpdatedAt(), 0L);
+        when(recipeService.getRecipeSummaries(null, 1)).thenReturn(new CursorPage<>(List.of(summary), "next"));
+        
+        mockMvc.perform(get("/api/recipes").param("view", "summary").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title", is("Test Recipe")))
+                .andExpect(jsonPath("$[0].servings", is(4)))
+                .andExpect(jsonPath("$[0].instructions").doesNotExist())
+                .andExpect(jsonPath("$[0].ingredients").doesNotExist())
+                .andExpect(header().string(HttpHeaders.ETAG, RecipeVersion.eTag(new CursorPage<>(
+                        List.of(new RecipeVersion(1L, 0L, testRecipe.getUpdatedAt())), "next"))))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andExpect(header().string("X-Next-Cursor", "next"));
+        
+        verify(recipeService, never()).getRecipes(any(), any());
+        verify(recipeService, never()).getRecipeViews(any(), any());
+    }
+    
+    @Test
+    void getRecipeSummaries_WithFilters_ShouldSearchSummaries() throws Exception {
+        when(recipeService.searchRecipeSummaries(true, null, null, null, null, null, null))
+                .thenReturn(new CursorPage<>(List.of(new RecipeSummary(1L, "Test Recipe", true, 4, null, null, 0L)), null));
+        
+        mockMvc.perform(get("/api/recipes").param("view", "summary").param("vegetarian", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+    
+    @Test
+    void getAllRecipes_WithFullView_ShouldReturnFullRecipes() throws Exception {
+        when(recipeService.getRecipes(null, null)).thenReturn(new CursorPage<>(List.of(testRecipe), null));
+        
+        mockMvc.perform(get("/api/recipes").param("view", "full"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].instructions", is("Test Instructions")));
+        
+        verify(recipeService, never()).getRecipeSummaries(any(), any());
+    }
+    
+    @Test
+    void getAllRecipes_WithMorePages_ShouldReturnNextCursorHeader() throws Exception {
+        when(recipeService.getRecipes("abc", 1)).thenReturn(new CursorPage<>(Arrays.asList(testRecipe), "def"));
+        
+        mockMvc.perform(get("/api/recipes")
+                .param("cursor", "abc")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string("X-Next-Cursor", "def"));
+        
+        verify(recipeService, times(1)).getRecipes("abc", 1);
+    }
+    
+    @Test
+    void getAllRecipes_WithCurrentETag_ShouldReturnNotModifiedWithoutLoadingRecipes() throws Exception {
+        CursorPage<RecipeVersion> versions = new CursorPage<>(
+                Arrays.asList(new RecipeVersion(1L, 0L, testRecipe.getUpdatedAt())), null);
+        when(recipeService.getRecipeVersions(null, null)).thenReturn(versions);
+        
+        mockMvc.perform(get("/api/recipes").header(HttpHeaders.IF_NONE_MATCH, RecipeVersion.eTag(versions)))
+                .andExpect(status().isNotModified());
+        
+        verify(recipeService, never()).getRecipes(any(), any());
+    }
+    
+    @Test
+    void getAllRecipes_ShouldReturnETagMatchingVersionLookup() throws Exception {
+        when(recipeService.getRecipes(null, null)).thenReturn(new CursorPage<>(Arrays.asList(testRecipe), null));
+        CursorPage<RecipeVersion> versions = new CursorPage<>(
+                Arrays.asList(new RecipeVersion(1L, 0L, testRecipe.getUpdatedAt())), null);
         
-        verify(recipeService, times(1)).getAllRecipes();
+        mockMvc.perform(get("/api/recipes"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, RecipeVersion.eTag(versions)))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+    }
+    
+    @Test
+    void getAllRecipes_WithCborAccepted_ShouldReturnCborETagAndVary() throws Exception {
+        when(recipeService.getRecipes(null, null)).thenReturn(new CursorPage<>(Arrays.asList(testRecipe), null));
+        CursorPage<RecipeVersion> versions = new CursorPage<>(
+                Arrays.asList(new RecipeVersion(1L, 0L, testRecipe.getUpdatedAt())), null);
+        
+        mockMvc.perform(get("/api/recipes").header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, RecipeVersion.variant(RecipeVersion.eTag(versions), "cbor")))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+    }
+    
+    @Test
+    void getAllRecipes_WithJsonETagForCbor_ShouldReturnCbor() throws Exception {
+        CursorPage<RecipeVersion> versions = new CursorPage<>(
+                Arrays.asList(new RecipeVersion(1L, 0L, testRecipe.getUpdatedAt())), null);
+        when(recipeService.getRecipeVersions(null, null)).thenReturn(versions);
+        when(recipeService.getRecipes(null, null)).thenReturn(new CursorPage<>(Arrays.asList(testRecipe), null));
+        
+        mockMvc.perform(get("/api/recipes")
+                        .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE)
+                        .header(HttpHeaders.IF_NONE_MATCH, RecipeVersion.eTag(versions)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+    
+    @Test
+    void getAllRecipes_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        when(recipeService.getRecipes("bogus", null))
+                .thenThrow(new InvalidCursorException("Invalid cursor: bogus"));
+        
+        mockMvc.perform(get("/api/recipes").param("cursor", "bogus"))
+                .andExpect(status().isBadRequest());
     }
     
     @Test
     void updateRecipe_ShouldReturnUpdatedRecipe() throws Exception {
-        when(recipeService.updateRecipe(eq(1L), any(Recipe.class))).thenReturn(testRecipe);
+        when(recipeService.updateRecipe(eq(1L), any(Recipe.class), isNull())).thenReturn(testRecipe);
         
         mockMvc.perform(put("/api/recipes/1")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -158,7 +489,76 @@ class RecipeControllerTest {
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.title", is("Test Recipe")));
         
-        verify(recipeService, times(1)).updateRecipe(eq(1L), any(Recipe.class));
+        verify(recipeService, times(1)).updateRecipe(eq(1L), any(Recipe.class), isNull());
+    }
+    
+    @Test
+    void updateRecipe_WithIfMatch_ShouldPassExpectedVersion() throws Exception {
+        testRecipe.setVersion(4L);
+        when(recipeService.updateRecipe(eq(1L), any(Recipe.class), eq(3L))).thenReturn(testRecipe);
+        
+        mockMvc.perform(put("/api/recipes/1")
+                .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-4\""))
+                .andExpect(jsonPath("$.version", is(4)));
+    }
+    
+    @Test
+    void updateRecipe_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        when(recipeService.updateRecipe(eq(1L), any(Recipe.class), eq(3L)))
+                .thenThrow(new PreconditionFailedException("Recipe 1 is at version 4, not 3"));
+        
+        mockMvc.perform(put("/api/recipes/1")
+                .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testRequest)))
+                .andExpect(status().isPreconditionFailed());
+    }
+    
+    @Test
+    void updateRecipe_WithIfMatchOfAnotherRecipe_ShouldReturnPreconditionFailed() throws Exception {
+        mockMvc.perform(put("/api/recipes/1")
+                .header(HttpHeaders.IF_MATCH, "\"2-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testRequest)))
+                .andExpect(status().isPreconditionFailed());
+        
+        verify(recipeService, never()).updateRecipe(any(), any(), any());
+    }
+    
+    @Test
+    void patchIngredients_ShouldReturnUpdatedRecipe() throws Exception {
+        IngredientPatchRequest patch = IngredientPatchRequest.builder()
+                .add(Arrays.asList("Basil"))
+                .remove(Arrays.asList("Ingredient 2"))
+                .build();
+        testRecipe.setIngredientNames(Arrays.asList("Ingredient 1", "Basil"));
+        when(recipeService.patchIngredients(1L, Arrays.asList("Basil"), Arrays.asList("Ingredient 2"), null))
+                .thenReturn(testRecipe);
+        
+        mockMvc.perform(patch("/api/recipes/1/ingredients")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ingredients", hasSize(2)))
+                .andExpect(jsonPath("$.ingredients[1]", is("Basil")));
+    }
+    
+    @Test
+    void patchIngredients_WithIfMatch_ShouldPassExpectedVersion() throws Exception {
+        IngredientPatchRequest patch = IngredientPatchRequest.builder().add(Arrays.asList("Basil")).build();
+        when(recipeService.patchIngredients(1L, Arrays.asList("Basil"), null, 0L)).thenReturn(testRecipe);
+        
+        mockMvc.perform(patch("/api/recipes/1/ingredients")
+                .header(HttpHeaders.IF_MATCH, "\"1-0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patch)))
+                .andExpect(status().isOk());
+        
+        verify(recipeService, times(1)).patchIngredients(1L, Arrays.asList("Basil"), null, 0L);
     }
     
     @Test
@@ -171,14 +571,55 @@ class RecipeControllerTest {
         verify(recipeService, times(1)).deleteRecipe(1L);
     }
     
+    @Test
+    void getRecipeById_WhenNoConnectionAvailable_ShouldReturnServiceUnavailable() throws Exception {
+        when(recipeService.getRecipeById(1L)).thenThrow(new CannotCreateTransactionException("Connection is not available"));
+        
+        mockMvc.perform(get("/api/recipes/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+    
+    @Test
+    void deleteRecipes_ShouldDeleteAllIdsAndReturnNoContent() throws Exception {
+        mockMvc.perform(delete("/api/recipes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, 2, 3]"))
+                .andExpect(status().isNoContent());
+        
+        verify(recipeService, times(1)).deleteRecipes(List.of(1L, 2L, 3L));
+    }
+    
+    @Test
+    void getRecipesByIds_ShouldReturnRecipesFromOneLookup() throws Exception {
+        when(recipeService.getRecipesByIds(List.of(1L, 2L))).thenReturn(List.of(testRecipe));
+        
+        mockMvc.perform(get("/api/recipes").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        
+        verify(recipeService, never()).getRecipes(any(), any());
+    }
+    
+    @Test
+    void getRecipesByIds_WithTooManyIds_ShouldReturnBadRequest() throws Exception {
+        when(recipeService.getRecipesByIds(List.of(1L, 2L))).thenThrow(new TooManyIdsException("At most 1 ids are allowed per request, got 2"));
+        
+        mockMvc.perform(get("/api/recipes").param("ids", "1", "2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("At most 1 ids are allowed per request, got 2")));
+    }
+    
     @Test
     void searchRecipes_WithAllFilters_ShouldReturnFilteredRecipes() throws Exception {
         List<Recipe> filteredRecipes = Arrays.asList(testRecipe);
-        List<String> includeIngredients = Arrays.asList("ingredient 1");
-        List<String> excludeIngredients = Arrays.asList("ingredient 3");
+        List<String> includeIngredients = Arrays.asList("Ingredient 1");
+        List<String> excludeIngredients = Arrays.asList("Ingredient 3");
         
-        when(recipeService.searchRecipes(true, 4, includeIngredients, excludeIngredients, "Test"))
-                .thenReturn(filteredRecipes);
+        when(recipeService.searchRecipes(true, 4, includeIngredients, excludeIngredients, "Test", null, null))
+                .thenReturn(new CursorPage<>(filteredRecipes, null));
         
         mockMvc.perform(get("/api/recipes")
                 .param("vegetarian", "true")
@@ -191,19 +632,113 @@ class RecipeControllerTest {
                 .andExpect(jsonPath("$[0].title", is("Test Recipe")));
         
         verify(recipeService, times(1))
-                .searchRecipes(true, 4, includeIngredients, excludeIngredients, "Test");
+                .searchRecipes(true, 4, includeIngredients, excludeIngredients, "Test", null, null);
     }
     
     @Test
     void searchRecipes_WithNoFilters_ShouldReturnAllRecipes() throws Exception {
         List<Recipe> allRecipes = Arrays.asList(testRecipe);
-        when(recipeService.getAllRecipes()).thenReturn(allRecipes);
+        when(recipeService.getRecipes(null, null)).thenReturn(new CursorPage<>(allRecipes, null));
         
         mockMvc.perform(get("/api/recipes"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
         
-        verify(recipeService, times(1)).getAllRecipes();
-        verify(recipeService, never()).searchRecipes(any(), any(), any(), any(), any());
+        verify(recipeService, times(1)).getRecipes(null, null);
+        verify(recipeService, never()).searchRecipes(any(), any(), any(), any(), any(), any(), any());
+    }
+    
+    @Test
+    void createRecipes_WithNdjson_ShouldReturnImportResult() throws Exception {
+        BulkImportResult result = new BulkImportResult();
+        result.received();
+        result.received();
+        result.created(1L);
+        result.failed(1, List.of("title: Title is required"));
+        when(recipeImportService.importRecipes(any(), any())).thenReturn(result);
+        
+        mockMvc.perform(post("/api/recipes/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(objectMapper.writeValueAsString(testRequest) + "\n{}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(2)))
+                .andExpect(jsonPath("$.createdIds", hasSize(1)))
+                .andExpect(jsonPath("$.errors[0].index", is(1)));
+        
+        verify(recipeImportService, times(1)).importRecipes(any(), any());
+    }
+    
+    @Test
+    void createRecipes_WithUnsupportedMediaType_ShouldReturn415() throws Exception {
+        mockMvc.perform(post("/api/recipes/bulk")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("title"))
+                .andExpect(status().isUnsupportedMediaType());
+        
+        verifyNoInteractions(recipeImportService);
+    }
+    
+    @Test
+    void exportRecipes_ShouldStreamNdjsonByDefault() throws Exception {
+        when(recipeExportService.exportRecipes(any(), eq(RecipeExportService.Format.NDJSON), eq(false))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+        
+        MvcResult result = mockMvc.perform(get("/api/recipes/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+    
+    @Test
+    void exportRecipes_WithCborAccepted_ShouldStreamCbor() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/recipes/export")
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        
+        verify(recipeExportService, times(1)).exportRecipes(any(), eq(RecipeExportService.Format.CBOR), eq(false));
+    }
+    
+    @Test
+    void exportRecipes_WithJsonAndGzipAccepted_ShouldStreamCompressedArray() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/recipes/export")
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        
+        verify(recipeExportService, times(1)).exportRecipes(any(), eq(RecipeExportService.Format.JSON), eq(true));
+    }
+    
+    @Test
+    void fullTextSearch_ShouldReturnRankedRecipes() throws Exception {
+        when(recipeService.fullTextSearch("tomato", 5)).thenReturn(Arrays.asList(testRecipe));
+        
+        mockMvc.perform(get("/api/recipes/search")
+                .param("q", "tomato")
+                .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Test Recipe")))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        
+        verify(recipeService, times(1)).fullTextSearch("tomato", 5);
     }
 }
\ No newline at end of file
@@ -0,0 +1,407 @@
+package com.recime.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recime.api.RecipeApiApplication;
+import com.recime.api.controller.RecipeController;
+import com.recime.api.dto.RecipeRequest;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load driver. Each client sends its next request as soon as the previous one
+ * answers, picking the operation from a weighted mix:
+ * <ul>
+ *     <li>{@code mix=read}: half pages of recipes, half single recipes by id. Used to compare
+ *     server modes, e.g. platform threads against virtual threads, or the reactive application.</li>
+ *     <li>{@code mix=crud}: reads by id, pages, ingredient and full-text searches, creates, updates
+ *     and deletes, in the proportions of {@link Operation}.</li>
+ * </ul>
+ * Recipe ids and searched ingredients are drawn from Zipf distributions, so a few recipes and
+ * ingredients are hot and most are cold, as in a real catalog. With {@code recipes=N} the driver
+ * first seeds N generated recipes through the bulk endpoint; otherwise it reads by the ids it
+ * finds. With {@code embedded=true} it starts the application in-process on the test H2 database
+ * instead of targeting {@code url}. Not a test: run
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.recime.api.loadtest.LoadDriver \
+ *     -Dexec.args="url=http://localhost:8080 clients=100 duration=60 warmup=10 mix=crud recipes=100000"
+ * </pre>
+ * Arguments are {@code key=value} pairs; see {@link Options} for the defaults. Latencies recorded
+ * during the warm-up are discarded.
+ */
+public final class LoadDriver {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    // Bounds the id discovery when the driver does not seed
+    private static final int MAX_DISCOVERED_IDS = 100_000;
+
+    private LoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        ConfigurableApplicationContext application = options.embedded() ? startEmbedded() : null;
+        URI baseUri = application != null
+                ? URI.create("http://localhost:" + application.getEnvironment().getProperty("local.server.port"))
+                : options.baseUri();
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newCachedThreadPool())
+                .build();
+        RecipeGenerator generator = new RecipeGenerator(options.vocabulary(), options.exponent());
+
+        long[] ids;
+        if (options.recipes() > 0) {
+            long started = System.nanoTime();
+            ids = seed(httpClient, baseUri, generator, options.recipes(), new Random(options.randomSeed()));
+            System.out.printf("Seeded %d recipes in %d ms%n", ids.length, (System.nanoTime() - started) / 1_000_000);
+        } else {
+            ids = recipeIds(httpClient, baseUri);
+        }
+        if (ids.length == 0) {
+            System.out.println("No recipes found at " + baseUri + ", reads by id will list instead");
+        }
+        // Rank 0 is the hottest id; shuffling keeps the hot ids from all being the oldest recipes
+        shuffle(ids, new Random(options.randomSeed()));
+
+        Result result = run(httpClient, baseUri, ids, generator, options);
+        System.out.println(result.report(options));
+        if (application != null) {
+            application.close();
+        }
+        System.exit(0);
+    }
+
+    static Result run(HttpClient httpClient, URI baseUri, long[] ids, RecipeGenerator generator,
+                      Options options) throws Exception {
+        long measureFrom = System.nanoTime() + options.warmup().toNanos();
+        long deadline = measureFrom + options.duration().toNanos();
+        ZipfDistribution hotIds = ids.length == 0 ? null : new ZipfDistribution(ids.length, options.exponent());
+
+        ExecutorService pool = Executors.newFixedThreadPool(options.clients());
+        List<Future<Result>> workers = new ArrayList<>(options.clients());
+        for (int i = 0; i < options.clients(); i++) {
+            Random random = new Random(options.randomSeed() + i);
+            workers.add(pool.submit(() -> {
+                Result measured = new Result();
+                // Recipes this client created; updates and deletes only touch these, so clients
+                // never delete a recipe another client is reading by id
+                List<Long> own = new ArrayList<>();
+                while (System.nanoTime() < deadline) {
+                    Operation operation = options.mix().next(random);
+                    if (operation == Operation.GET && hotIds == null) {
+                        operation = Operation.LIST;
+                    } else if ((operation == Operation.UPDATE || operation == Operation.DELETE) && own.isEmpty()) {
+                        operation = Operation.CREATE;
+                    }
+                    long started = System.nanoTime();
+                    boolean ok = send(httpClient, baseUri, operation, ids, hotIds, own, generator, random);
+                    if (started >= measureFrom) {
+                        measured.record(operation, System.nanoTime() - started, ok);
+                    }
+                }
+                return measured;
+            }));
+        }
+
+        Result all = new Result();
+        for (Future<Result> worker : workers) {
+            all.addAll(worker.get());
+        }
+        pool.shutdown();
+        return all;
+    }
+
+    private static boolean send(HttpClient httpClient, URI baseUri, Operation operation, long[] ids,
+                                ZipfDistribution hotIds, List<Long> own, RecipeGenerator generator,
+                                Random random) {
+        try {
+            switch (operation) {
+                case GET -> {
+                    return get(httpClient, baseUri.resolve("/api/recipes/" + ids[hotIds.sample(random)]));
+                }
+                case LIST -> {
+                    return get(httpClient, baseUri.resolve("/api/recipes?size=20"));
+                }
+                case SEARCH -> {
+                    String query = "/api/recipes?size=20&includeIngredients=" + encode(generator.ingredient(random));
+                    return get(httpClient, baseUri.resolve(random.nextInt(4) == 0 ? query + "&vegetarian=true" : query));
+                }
+                case FULL_TEXT -> {
+                    return get(httpClient, baseUri.resolve("/api/recipes/search?size=20&q=" + encode(generator.ingredient(random))));
+                }
+                case CREATE -> {
+                    HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(baseUri.resolve("/api/recipes"))
+                                    .header("Content-Type", "application/json")
+                                    .POST(json(generator.next(random)))
+                                    .build(),
+                            HttpResponse.BodyHandlers.ofString());
+                    if (response.statusCode() != 201) {
+                        return false;
+                    }
+                    own.add(OBJECT_MAPPER.readTree(response.body()).get("id").asLong());
+                    return true;
+                }
+                case UPDATE -> {
+                    URI uri = baseUri.resolve("/api/recipes/" + own.get(random.nextInt(own.size())));
+                    return succeeded(httpClient.send(HttpRequest.newBuilder(uri)
+                                    .header("Content-Type", "application/json")
+                                    .PUT(json(generator.next(random)))
+                                    .build(),
+                            HttpResponse.BodyHandlers.discarding()));
+                }
+                case DELETE -> {
+                    URI uri = baseUri.resolve("/api/recipes/" + own.remove(own.size() - 1));
+                    return succeeded(httpClient.send(HttpRequest.newBuilder(uri).DELETE().build(),
+                            HttpResponse.BodyHandlers.discarding()));
+                }
+                default -> throw new IllegalStateException("Unexpected operation " + operation);
+            }
+        } catch (IOException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean get(HttpClient httpClient, URI uri) throws IOException, InterruptedException {
+        return succeeded(httpClient.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding()));
+    }
+
+    private static boolean succeeded(HttpResponse<?> response) {
+        return response.statusCode() < 400;
+    }
+
+    private static HttpRequest.BodyPublisher json(RecipeRequest request) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(OBJECT_MAPPER.writeValueAsBytes(request));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static long[] seed(HttpClient httpClient, URI baseUri, RecipeGenerator generator, int count,
+                               Random random) throws IOException, InterruptedException {
+        Latencies ids = new Latencies();
+        for (int seeded = 0; seeded < count; seeded += SEED_BATCH_SIZE) {
+            StringBuilder body = new StringBuilder();
+            for (int i = seeded; i < Math.min(count, seeded + SEED_BATCH_SIZE); i++) {
+                body.append(OBJECT_MAPPER.writeValueAsString(generator.next(random))).append('\n');
+            }
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(baseUri.resolve("/api/recipes/bulk"))
+                            .header("Content-Type", "application/x-ndjson")
+                            .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode id : OBJECT_MAPPER.readTree(response.body()).get("createdIds")) {
+                ids.add(id.asLong());
+            }
+        }
+        return ids.values();
+    }
+
+    // Follows the list cursor; reads whatever recipes the target already has
+    private static long[] recipeIds(HttpClient httpClient, URI baseUri) throws IOException, InterruptedException {
+        Latencies ids = new Latencies();
+        String cursor = null;
+        do {
+            String query = "/api/recipes?size=100" + (cursor == null ? "" : "&cursor=" + encode(cursor));
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(baseUri.resolve(query)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            for (JsonNode recipe : OBJECT_MAPPER.readTree(response.body())) {
+                ids.add(recipe.get("id").asLong());
+            }
+            cursor = response.headers().firstValue(RecipeController.NEXT_CURSOR_HEADER).orElse(null);
+        } while (cursor != null && ids.size < MAX_DISCOVERED_IDS);
+        return ids.values();
+    }
+
+    private static void shuffle(long[] values, Random random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
+    // The test classpath's application.properties wins, so this is the in-memory H2 database
+    private static ConfigurableApplicationContext startEmbedded() {
+        return SpringApplication.run(RecipeApiApplication.class,
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--logging.level.com.recime.api=INFO",
+                "--logging.level.org.hibernate.SQL=INFO");
+    }
+
+    /**
+     * Weights are out of 100. Updates and deletes only target recipes the same client created,
+     * and fall back to a create while it has none.
+     */
+    enum Operation {
+        GET(50, 45), LIST(50, 10), SEARCH(0, 20), FULL_TEXT(0, 5), CREATE(0, 10), UPDATE(0, 5), DELETE(0, 5);
+
+        private final int readWeight;
+        private final int crudWeight;
+
+        Operation(int readWeight, int crudWeight) {
+            this.readWeight = readWeight;
+            this.crudWeight = crudWeight;
+        }
+    }
+
+    enum Mix {
+        READ, CRUD;
+
+        Operation next(Random random) {
+            int draw = random.nextInt(100);
+            for (Operation operation : Operation.values()) {
+                draw -= this == READ ? operation.readWeight : operation.crudWeight;
+                if (draw < 0) {
+                    return operation;
+                }
+            }
+            return Operation.GET;
+        }
+    }
+
+    record Options(URI baseUri, int clients, Duration duration, Duration warmup, Mix mix, int recipes,
+                   int vocabulary, double exponent, long randomSeed, boolean embedded) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                if (separator < 1) {
+                    throw new IllegalArgumentException("Expected key=value, got " + arg);
+                }
+                values.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+            return new Options(
+                    URI.create(values.getOrDefault("url", "http://localhost:8080")),
+                    Integer.parseInt(values.getOrDefault("clients", "200")),
+                    Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "30"))),
+                    Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10"))),
+                    Mix.valueOf(values.getOrDefault("mix", "read").toUpperCase(Locale.ROOT)),
+                    Integer.parseInt(values.getOrDefault("recipes", "0")),
+                    Integer.parseInt(values.getOrDefault("vocabulary", "5000")),
+                    Double.parseDouble(values.getOrDefault("exponent", "1.07")),
+                    Long.parseLong(values.getOrDefault("random", "42")),
+                    Boolean.parseBoolean(values.getOrDefault("embedded", "false")));
+        }
+    }
+
+    static final class Result {
+
+        private final Map<Operation, Latencies> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+
+        void record(Operation operation, long nanos, boolean ok) {
+            latencies.computeIfAbsent(operation, ignored -> new Latencies()).add(nanos);
+            if (!ok) {
+                errors.merge(operation, 1L, Long::sum);
+            }
+        }
+
+        void addAll(Result other) {
+            other.latencies.forEach((operation, values) ->
+                    latencies.computeIfAbsent(operation, ignored -> new Latencies()).addAll(values));
+            other.errors.forEach((operation, count) -> errors.merge(operation, count, Long::sum));
+        }
+
+        String report(Options options) {
+            StringBuilder report = new StringBuilder(String.format("%-10s %9s %7s %9s %9s %9s %9s%n",
+                    "operation", "requests", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+            Latencies total = new Latencies();
+            latencies.forEach((operation, values) -> {
+                total.addAll(values);
+                report.append(line(operation.name().toLowerCase(Locale.ROOT), values.sorted(), errors.getOrDefault(operation, 0L)));
+            });
+            long[] all = total.sorted();
+            long totalErrors = errors.values().stream().mapToLong(Long::longValue).sum();
+            report.append(line("total", all, totalErrors));
+            report.append(String.format("mix=%s clients=%d duration=%ds throughput=%.1f req/s",
+                    options.mix().name().toLowerCase(Locale.ROOT), options.clients(), options.duration().toSeconds(),
+                    all.length / (double) options.duration().toSeconds()));
+            return report.toString();
+        }
+
+        private static String line(String name, long[] sortedNanos, long errors) {
+            return String.format("%-10s %9d %7d %9.2f %9.2f %9.2f %9.2f%n", name, sortedNanos.length, errors,
+                    millis(percentile(sortedNanos, 50)), millis(percentile(sortedNanos, 99)),
+                    millis(percentile(sortedNanos, 99.9)), millis(percentile(sortedNanos, 100)));
+        }
+
+        static long percentile(long[] sortedNanos, double percentile) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    // Growable long array; one per client thread and operation, merged once the run is over
+    static final class Latencies {
+
+        private long[] nanos = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+        }
+
+        void addAll(Latencies other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.nanos[i]);
+            }
+        }
+
+        long[] values() {
+            return Arrays.copyOf(nanos, size);
+        }
+
+        long[] sorted() {
+            long[] copy = values();
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.recime.api.loadtest;
+
+import com.recime.api.dto.RecipeRequest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Synthetic recipes whose ingredients follow a Zipf distribution, like real recipe collections:
+ * a handful of staples (salt, onion, garlic...) appear almost everywhere, and a long tail of
+ * ingredients appears in a few recipes each. The vocabulary starts with common real ingredients,
+ * in popularity order, followed by generated names for the tail.
+ */
+final class RecipeGenerator {
+
+    private static final String[] STAPLES = {
+            "Salt", "Olive Oil", "Onion", "Garlic", "Butter", "Black Pepper", "Sugar", "Eggs", "Flour", "Water",
+            "Milk", "Lemon", "Tomato", "Parsley", "Carrot", "Chicken", "Potato", "Basil", "Cheese", "Rice",
+            "Cream", "Bell Pepper", "Ginger", "Soy Sauce", "Thyme", "Cumin", "Beef", "Celery", "Vinegar", "Honey",
+            "Spinach", "Mushroom", "Paprika", "Cinnamon", "Coriander", "Chili", "Pasta", "Bacon", "Lime", "Oregano",
+            "Yogurt", "Beans", "Zucchini", "Shrimp", "Salmon", "Pork", "Cabbage", "Broccoli", "Chickpeas", "Coconut Milk"
+    };
+
+    private static final String[] STEPS = {
+            "Chop everything finely.", "Heat the pan over medium heat.", "Simmer gently for twenty minutes.",
+            "Season to taste.", "Bake until golden.", "Stir well and let it rest.", "Blend until smooth.",
+            "Serve warm."
+    };
+
+    private final List<String> vocabulary;
+    private final ZipfDistribution ingredients;
+
+    RecipeGenerator(int vocabularySize, double exponent) {
+        vocabulary = new ArrayList<>(vocabularySize);
+        for (int i = 0; i < vocabularySize; i++) {
+            vocabulary.add(i < STAPLES.length ? STAPLES[i] : "Ingredient " + i);
+        }
+        ingredients = new ZipfDistribution(vocabularySize, exponent);
+    }
+
+    RecipeRequest next(Random random) {
+        int count = 4 + random.nextInt(9);
+        Set<String> names = new LinkedHashSet<>();
+        while (names.size() < count) {
+            names.add(ingredient(random));
+        }
+        StringBuilder instructions = new StringBuilder();
+        for (int i = 0, steps = 2 + random.nextInt(4); i < steps; i++) {
+            instructions.append(STEPS[random.nextInt(STEPS.length)]).append(' ');
+        }
+        return RecipeRequest.builder()
+                .title(names.iterator().next() + " dish " + Long.toHexString(random.nextLong()))
+                .description("Generated for load testing")
+                .ingredients(new ArrayList<>(names))
+                .instructions(instructions.toString().trim())
+                .vegetarian(random.nextInt(3) == 0)
+                .servings(1 + random.nextInt(8))
+                .build();
+    }
+
+    // Drawn with the same skew as recipe contents, so searches hit popular ingredients most often
+    String ingredient(Random random) {
+        return vocabulary.get(ingredients.sample(random));
+    }
+}
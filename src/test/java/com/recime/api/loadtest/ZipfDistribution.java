@@ -0,0 +1,35 @@
+package com.recime.api.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf sampler over ranks 0..n-1: rank k is drawn with probability proportional to 1 / (k + 1)^s.
+ * The cumulative distribution is precomputed once, so each draw is a binary search.
+ */
+final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    ZipfDistribution(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be positive, got " + n);
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+    }
+
+    int sample(Random random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, target);
+        return index >= 0 ? index : Math.min(-index - 1, cumulative.length - 1);
+    }
+
+    int size() {
+        return cumulative.length;
+    }
+}
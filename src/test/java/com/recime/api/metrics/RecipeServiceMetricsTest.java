@@ -0,0 +1,92 @@
+package com.recime.api.metrics;
+
+import com.recime.api.config.PaginationProperties;
+import com.recime.api.entity.Recipe;
+import com.recime.api.exception.ResourceNotFoundException;
+import com.recime.api.repository.IngredientRepository;
+import com.recime.api.repository.RecipeRepository;
+import com.recime.api.service.RecipeSearchIndex;
+import com.recime.api.service.RecipeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeServiceMetricsTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    @Mock
+    private RecipeSearchIndex recipeSearchIndex;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RecipeService recipeService;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(
+                new RecipeService(recipeRepository, new PaginationProperties(), ingredientRepository, recipeSearchIndex, null));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new RecipeServiceMetrics(meterRegistry));
+        recipeService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void getRecipeById_ShouldBeTimedByMethodName() {
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(new Recipe()));
+
+        recipeService.getRecipeById(1L);
+        recipeService.getRecipeById(1L);
+
+        assertThat(meterRegistry.get(RecipeServiceMetrics.TIMER_NAME)
+                .tags("method", "getRecipeById", "shape", "n/a").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void getRecipeById_WhenItThrows_ShouldStillBeTimed() {
+        when(recipeRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> recipeService.getRecipeById(1L)).isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(meterRegistry.get(RecipeServiceMetrics.TIMER_NAME).tag("method", "getRecipeById").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void searchRecipes_ShouldBeTimedByFilterShape() {
+        when(recipeRepository.searchRecipes(any(), any(), any(), any(), any(), any(), any())).thenReturn(List.of());
+
+        recipeService.searchRecipes(true, null, List.of("Tomato"), null, null, null, null);
+        recipeService.searchRecipes(false, null, List.of("Basil"), List.of(), "", null, null);
+        recipeService.searchRecipes(null, null, null, null, null, null, null);
+
+        assertThat(meterRegistry.get(RecipeServiceMetrics.TIMER_NAME)
+                .tags("method", "searchRecipes", "shape", "vegetarian+include").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(RecipeServiceMetrics.TIMER_NAME)
+                .tags("method", "searchRecipes", "shape", "none").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shape_ShouldListSuppliedFiltersInOrder() {
+        assertThat(RecipeServiceMetrics.shape(0)).isEqualTo("none");
+        assertThat(RecipeServiceMetrics.shape(2 | 8 | 16)).isEqualTo("servings+exclude+content");
+    }
+}
@@ -0,0 +1,55 @@
+package com.recime.api.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseSizeFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ResponseSizeFilter filter = new ResponseSizeFilter(meterRegistry);
+
+    @Test
+    void doFilter_ShouldRecordBytesWrittenPerUriTemplate() throws Exception {
+        handle("/api/recipes/1", 120);
+        handle("/api/recipes/2", 80);
+
+        DistributionSummary summary = meterRegistry.get(ResponseSizeFilter.SUMMARY_NAME)
+                .tags("method", "GET", "uri", "/api/recipes/{id}").summary();
+        assertThat(summary.count()).isEqualTo(2);
+        assertThat(summary.totalAmount()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_ShouldPassTheBodyThrough() throws Exception {
+        MockHttpServletResponse response = handle("/api/recipes/1", 10);
+
+        assertThat(response.getContentAsByteArray()).hasSize(10);
+    }
+
+    private MockHttpServletResponse handle(String path, int bodySize) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/recipes/{id}");
+                resp.getOutputStream().write(new byte[bodySize]);
+            }
+        }));
+        return response;
+    }
+}
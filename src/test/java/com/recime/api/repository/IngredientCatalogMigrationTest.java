@@ -0,0 +1,91 @@
+package com.recime.api.repository;
+
+import com.recime.api.entity.Ingredient;
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the real changelog over a database holding per-recipe ingredients, then writes through Hibernate
+@DataJpaTest(properties = {
+        "spring.datasource.url=" + IngredientCatalogMigrationTest.URL,
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class IngredientCatalogMigrationTest {
+
+    static final String URL = "jdbc:h2:mem:catalog-migration;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    private static final String CHANGELOG = "db/changelog/db.changelog-master.xml";
+    // Changesets up to 012 on H2; 007-009 are PostgreSQL only
+    private static final int BEFORE_CATALOG_BACKFILL = 9;
+    private static final int LEGACY_NAMES = 60;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE ALIAS IF NOT EXISTS SETVAL FOR '" + IngredientCatalogMigrationTest.class.getName() + ".setval'");
+            }
+            Liquibase liquibase = new Liquibase(CHANGELOG, new ClassLoaderResourceAccessor(), new JdbcConnection(connection));
+            liquibase.update(BEFORE_CATALOG_BACKFILL, new Contexts(), new LabelExpression());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("INSERT INTO recipes (id, title, instructions, vegetarian, servings, created_at, updated_at) "
+                        + "VALUES (1, 'Stew', 'Simmer', FALSE, 4, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+                for (int i = 1; i <= LEGACY_NAMES; i++) {
+                    statement.execute("INSERT INTO ingredients (id, name, recipe_id, normalized_name) "
+                            + "VALUES (" + i + ", 'Legacy " + i + "', 1, 'legacy " + i + "')");
+                }
+            }
+            liquibase.update(new Contexts(), new LabelExpression());
+        }
+    }
+
+    // H2 has no setval; the changelog only ever calls it with is_called = false. Public, like the
+    // class, so H2 can call it
+    public static long setval(Connection connection, String sequence, long value, boolean isCalled) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + value);
+        }
+        return value;
+    }
+
+    @Test
+    void resolveAll_AfterBackfill_ShouldAllocateIdsAboveMigratedOnes() {
+        assertThat(ingredientRepository.count()).isEqualTo(LEGACY_NAMES);
+        List<String> names = IntStream.rangeClosed(1, 2 * LEGACY_NAMES).mapToObj(i -> "Fresh " + i).toList();
+
+        Map<String, Ingredient> resolved = ingredientRepository.resolveAll(names);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(resolved).hasSize(names.size());
+        assertThat(ingredientRepository.count()).isEqualTo(3L * LEGACY_NAMES);
+        assertThat(ingredientRepository.findAll())
+                .filteredOn(ingredient -> ingredient.getName().startsWith("Fresh"))
+                .allSatisfy(ingredient -> assertThat(ingredient.getId()).isGreaterThan(LEGACY_NAMES));
+    }
+}
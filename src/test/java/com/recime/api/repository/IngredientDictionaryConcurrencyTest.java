@@ -0,0 +1,75 @@
+package com.recime.api.repository;
+
+import com.recime.api.entity.Ingredient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Both writers need to commit for real, so every step runs in its own transaction
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IngredientDictionaryConcurrencyTest {
+
+    private static final String NAME = "Sumac";
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> ingredientRepository.findAll().stream()
+                .filter(ingredient -> ingredient.getNormalizedName().equals(Ingredient.normalize(NAME)))
+                .forEach(ingredientRepository::delete));
+    }
+
+    @Test
+    void resolve_WhenAnotherTransactionInsertsTheSameName_ShouldReuseItsRow() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            Integer id = ingredientRepository.resolve(NAME).getId();
+            inserted.countDown();
+            // Commit only once the second transaction is waiting on the unique constraint
+            sleep(500);
+            return id;
+        }));
+        assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Integer> second = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status ->
+                ingredientRepository.resolve(NAME.toUpperCase()).getId()));
+
+        assertThat(second.get(30, TimeUnit.SECONDS)).isEqualTo(first.get(30, TimeUnit.SECONDS));
+        assertThat(ingredientRepository.findAll())
+                .filteredOn(ingredient -> ingredient.getNormalizedName().equals(Ingredient.normalize(NAME)))
+                .hasSize(1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
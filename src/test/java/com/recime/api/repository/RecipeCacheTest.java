@@ -0,0 +1,126 @@
+package com.recime.api.repository;
+
+import com.recime.api.entity.Ingredient;
+import com.recime.api.entity.Recipe;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Cache entries are only written on commit, so every step runs in its own transaction
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RecipeCacheTest {
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Cache cache;
+
+    private Long recipeId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        cache = entityManagerFactory.getCache();
+        // Regions live in the JVM-wide cache manager, so other test contexts may have filled them with the same ids
+        cache.evictAll();
+
+        recipeId = transactionTemplate.execute(status -> {
+            Recipe recipe = Recipe.builder()
+                    .title("Vegetable Pasta")
+                    .description("Delicious vegetable pasta")
+                    .instructions("Boil pasta, add vegetables, season well")
+                    .vegetarian(true)
+                    .servings(4)
+                    .build();
+            recipe.getIngredients().add(ingredientRepository.resolve("Pasta"));
+            recipe.getIngredients().add(ingredientRepository.resolve("Tomato"));
+            return recipeRepository.save(recipe).getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> recipeRepository.deleteAll());
+        cache.evictAll();
+    }
+
+    @Test
+    void save_ShouldCacheRecipeOnCommit() {
+        assertThat(cache.contains(Recipe.class, recipeId)).isTrue();
+    }
+
+    @Test
+    void update_ShouldNotServeStaleRecipeOrIngredients() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Recipe recipe = recipeRepository.findById(recipeId).orElseThrow();
+            recipe.setTitle("Tomato Pasta");
+            recipe.getIngredients().remove(1);
+            recipe.getIngredients().add(ingredientRepository.resolve("Basil"));
+        });
+
+        Recipe reloaded = transactionTemplate.execute(status -> {
+            Recipe recipe = recipeRepository.findById(recipeId).orElseThrow();
+            recipe.getIngredientNames();
+            return recipe;
+        });
+
+        assertThat(reloaded.getTitle()).isEqualTo("Tomato Pasta");
+        assertThat(reloaded.getIngredientNames()).isEqualTo(Arrays.asList("Pasta", "Basil"));
+    }
+
+    @Test
+    void deleteAllByIdIn_ShouldOnlyEvictRecipeRegions() {
+        Integer pastaId = transactionTemplate.execute(status -> ingredientRepository.resolve("Pasta").getId());
+        // Loading the catalog entry puts it in its region
+        transactionTemplate.executeWithoutResult(status -> ingredientRepository.findById(pastaId).orElseThrow().getName());
+        assertThat(cache.contains(Ingredient.class, pastaId)).isTrue();
+
+        transactionTemplate.executeWithoutResult(status -> recipeRepository.deleteAllByIdIn(List.of(recipeId)));
+
+        assertThat(cache.contains(Recipe.class, recipeId)).isFalse();
+        assertThat(cache.contains(Ingredient.class, pastaId)).isTrue();
+        Optional<Recipe> deleted = transactionTemplate.execute(status -> recipeRepository.findById(recipeId));
+        assertThat(deleted).isEmpty();
+    }
+
+    @Test
+    void delete_ShouldNotServeDeletedRecipe() {
+        transactionTemplate.executeWithoutResult(status -> recipeRepository.deleteById(recipeId));
+
+        // READ_WRITE leaves a soft lock under the key until it expires, so the region may still
+        // contain it; what matters is that loads go past it to the database
+        Optional<Recipe> deleted = transactionTemplate.execute(status -> recipeRepository.findById(recipeId));
+        assertThat(deleted).isEmpty();
+    }
+}
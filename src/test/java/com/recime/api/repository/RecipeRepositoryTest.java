@@ -1,18 +1,34 @@
 package com.recime.api.repository;
 
+import com.recime.api.dto.RecipeSummary;
+import com.recime.api.dto.RecipeVersion;
+import com.recime.api.dto.RecipeView;
 import com.recime.api.entity.Ingredient;
 import com.recime.api.entity.Recipe;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @DataJpaTest
 class RecipeRepositoryTest {
@@ -23,6 +39,9 @@ class RecipeRepositoryTest {
     @Autowired
     private RecipeRepository recipeRepository;
 
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
     private Recipe vegetarianRecipe;
     private Recipe nonVegetarianRecipe;
     private Recipe pastaRecipe;
@@ -76,16 +95,12 @@ class RecipeRepositoryTest {
     }
 
     private void addIngredient(Recipe recipe, String ingredientName) {
-        Ingredient ingredient = Ingredient.builder()
-                .name(ingredientName)
-                .recipe(recipe)
-                .build();
-        entityManager.persist(ingredient);
+        recipe.getIngredients().add(ingredientRepository.resolve(ingredientName));
     }
 
     @Test
     void searchRecipes_WithAllNullParameters_ShouldReturnAllRecipes() {
-        List<Recipe> results = recipeRepository.searchRecipes(null, null, null, null, null);
+        List<Recipe> results = recipeRepository.searchRecipes(null, null, null, null, null, 0L, Pageable.unpaged());
         
         assertThat(results).hasSize(3);
         assertThat(results).containsExactlyInAnyOrder(vegetarianRecipe, nonVegetarianRecipe, pastaRecipe);
@@ -93,7 +108,7 @@ class RecipeRepositoryTest {
 
     @Test
     void searchRecipes_WithVegetarianTrue_ShouldReturnOnlyVegetarianRecipes() {
-        List<Recipe> results = recipeRepository.searchRecipes(true, null, null, null, null);
+        List<Recipe> results = recipeRepository.searchRecipes(true, null, null, null, null, 0L, Pageable.unpaged());
         
         assertThat(results).hasSize(1);
         assertThat(results.get(0)).isEqualTo(vegetarianRecipe);
@@ -101,7 +116,7 @@ class RecipeRepositoryTest {
 
     @Test
     void searchRecipes_WithVegetarianFalse_ShouldReturnOnlyNonVegetarianRecipes() {
-        List<Recipe> results = recipeRepository.searchRecipes(false, null, null, null, null);
+        List<Recipe> results = recipeRepository.searchRecipes(false, null, null, null, null, 0L, Pageable.unpaged());
         
         assertThat(results).hasSize(2);
         assertThat(results).containsExactlyInAnyOrder(nonVegetarianRecipe, pastaRecipe);
@@ -109,7 +124,7 @@ class RecipeRepositoryTest {
 
     @Test
     void searchRecipes_WithServings_ShouldReturnRecipesWithExactServings() {
-        List<Recipe> results = recipeRepository.searchRecipes(null, 4, null, null, null);
+        List<Recipe> results = recipeRepository.searchRecipes(null, 4, null, null, null, 0L, Pageable.unpaged());
         
         assertThat(results).hasSize(1);
         assertThat(results.get(0)).isEqualTo(vegetarianRecipe);
@@ -118,7 +133,7 @@ class RecipeRepositoryTest {
     @Test
     void searchRecipes_WithIncludeIngredients_ShouldReturnRecipesContainingIngredient() {
         List<String> includeIngredients = Arrays.asList("pasta");
-        List<Recipe> results = recipeRepository.searchRecipes(null, null, includeIngredients, null, null);
+        List<Recipe> results = recipeRepository.searchRecipes(null, null, includeIngredients, null, null, 0L, Pageable.unpaged());
         
         assertThat(results).hasSize(1);
         assertThat(results.get(0)).isEqualTo(vegetarianRecipe);
@@ -127,7 +142,7 @@ class RecipeRepositoryTest {
     @Test
     void searchRecipes_WithIncludeIngredients_CaseInsensitive_ShouldReturnRecipes() {
         List<String> includeIngredients = Arrays.asList("PASTA");
-        List<Recipe> results = recipeRepository.searchRecipes(null, null, includeIngredients, null, null);
+        List<Recipe> results = recipeRepository.searchRecipes(null, null, includeIngredients, null, null, 0L, Pageable.unpaged());
         
         assertThat(results).hasSize(1);
         assertThat(results.get(0)).isEqualTo(vegetarianRecipe);
@@ -136,16 +151,215 @@ class RecipeRepositoryTest {
     @Test
     void searchRecipes_WithMultipleIncludeIngredients_ShouldReturnRecipesContainingAnyIngredient() {
         List<String> includeIngredients = Arrays.asList("beef", "egg");
-        List<Recipe> results = recipeRepository.searchRecipes(null, null, includeIngredients, null, null);
+        List<Recipe> results = recipeRepository.searchRecipes(null, null, includeIngredients, null, null, 0L, Pageable.unpaged());
         
         assertThat(results).hasSize(2);
         assertThat(results).containsExactlyInAnyOrder(nonVegetarianRecipe, pastaRecipe);
     }
 
+    @Test
+    void searchRecipes_WithUnnormalizedIncludeIngredient_ShouldMatchNormalizedName() {
+        List<String> includeIngredients = Arrays.asList("  SpAgHeTtI ");
+        List<Recipe> results = recipeRepository.searchRecipes(null, null, includeIngredients, null, null, 0L, Pageable.unpaged());
+
+        assertThat(results).containsExactly(pastaRecipe);
+    }
+
+    @Test
+    void persist_ShouldStoreNormalizedIngredientName() {
+        addIngredient(pastaRecipe, " Black  Pepper ");
+        entityManager.flush();
+
+        List<Recipe> results = recipeRepository.searchRecipes(null, null, Arrays.asList("black pepper"), null, null, 0L, Pageable.unpaged());
+
+        assertThat(results).containsExactly(pastaRecipe);
+    }
+
+    @Test
+    void resolve_WithSameNormalizedName_ShouldShareOneCatalogEntry() {
+        addIngredient(pastaRecipe, " PASTA ");
+        entityManager.flush();
+
+        Ingredient pasta = ingredientRepository.resolve("pasta");
+
+        assertThat(ingredientRepository.count()).isEqualTo(9);
+        assertThat(pasta.getName()).isEqualTo("Pasta");
+        assertThat(vegetarianRecipe.getIngredients()).contains(pasta);
+        assertThat(pastaRecipe.getIngredients()).contains(pasta);
+    }
+
+    @Test
+    void resolveAll_ShouldReuseCatalogEntriesAndInsertEachMissingNameOnce() {
+        Map<String, Ingredient> resolved = ingredientRepository.resolveAll(List.of("pasta", "Saffron", "SAFFRON", "Tomato"));
+        entityManager.flush();
+
+        assertThat(resolved).containsOnlyKeys("pasta", "saffron", "tomato");
+        assertThat(vegetarianRecipe.getIngredients()).contains(resolved.get("pasta"), resolved.get("tomato"));
+        assertThat(resolved.get("saffron").getName()).isEqualTo("Saffron");
+        assertThat(ingredientRepository.count()).isEqualTo(10);
+    }
+
+    @Test
+    void recipeColumns_ShouldListEveryColumnRecipeMaps() {
+        EntityPersister persister = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(Recipe.class);
+        Set<String> columns = new HashSet<>();
+        persister.getIdentifierMapping().forEachSelectable((index, selectable) -> columns.add(selectable.getSelectionExpression()));
+        persister.forEachSelectable((index, selectable) -> {
+            if (selectable.getContainingTableExpression().equals("recipes")) {
+                columns.add(selectable.getSelectionExpression());
+            }
+        });
+
+        assertThat(columns).contains("id", "version", "title");
+        assertThat(columns).allSatisfy(column -> assertThat(RecipeSearchRepositoryImpl.RECIPE_COLUMNS).contains("r." + column));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recipeColumns_ShouldHydrateRecipesFromNativeQueries() {
+        entityManager.clear();
+
+        List<Recipe> recipes = entityManager.getEntityManager()
+                .createNativeQuery(RecipeSearchRepositoryImpl.RECIPE_COLUMNS + "FROM recipes r ORDER BY r.id", Recipe.class)
+                .getResultList();
+
+        assertThat(recipes).extracting(Recipe::getId, Recipe::getVersion, Recipe::getTitle).containsExactly(
+                tuple(vegetarianRecipe.getId(), vegetarianRecipe.getVersion(), vegetarianRecipe.getTitle()),
+                tuple(nonVegetarianRecipe.getId(), nonVegetarianRecipe.getVersion(), nonVegetarianRecipe.getTitle()),
+                tuple(pastaRecipe.getId(), pastaRecipe.getVersion(), pastaRecipe.getTitle()));
+    }
+
+    @Test
+    void searchRecipes_WithUnknownIncludeIngredient_ShouldReturnNoRecipes() {
+        List<Recipe> results = recipeRepository.searchRecipes(null, null, Arrays.asList("saffron"), null, null, 0L, Pageable.unpaged());
+
+        assertThat(results).isEmpty();
+    }
+
+    @Test
+    void searchRecipes_WithUnknownExcludeIngredient_ShouldReturnAllRecipes() {
+        List<Recipe> results = recipeRepository.searchRecipes(null, null, null, Arrays.asList("saffron"), null, 0L, Pageable.unpaged());
+
+        assertThat(results).containsExactlyInAnyOrder(vegetarianRecipe, nonVegetarianRecipe, pastaRecipe);
+    }
+
+    @Test
+    void streamSearchIndexRows_ShouldReturnEveryRecipeAndIngredientLink() {
+        try (Stream<Object[]> rows = recipeRepository.streamSearchAttributes();
+             Stream<Object[]> links = recipeRepository.streamIngredientLinks()) {
+            assertThat(rows.map(row -> row[0])).containsExactlyInAnyOrder(
+                    vegetarianRecipe.getId(), nonVegetarianRecipe.getId(), pastaRecipe.getId());
+            assertThat(links.filter(link -> link[0].equals(pastaRecipe.getId()))).hasSize(3);
+        }
+    }
+
+    @Test
+    void streamViews_ShouldReturnEveryRecipeInIdOrderWithoutLoadingEntities() {
+        Statistics statistics = clearContextAndStatistics();
+
+        try (Stream<RecipeView> views = recipeRepository.streamViews()) {
+            assertThat(views).extracting(RecipeView::id)
+                    .containsExactly(vegetarianRecipe.getId(), nonVegetarianRecipe.getId(), pastaRecipe.getId());
+        }
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void deleteAllByIdIn_ShouldDeleteRecipesAndIngredientLinksInOneStatement() {
+        Statistics statistics = clearContextAndStatistics();
+
+        int deleted = recipeRepository.deleteAllByIdIn(List.of(vegetarianRecipe.getId(), pastaRecipe.getId(), -1L));
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(recipeRepository.findAll()).extracting(Recipe::getId).containsExactly(nonVegetarianRecipe.getId());
+        try (Stream<Object[]> links = recipeRepository.streamIngredientLinks()) {
+            assertThat(links).allMatch(link -> link[0].equals(nonVegetarianRecipe.getId()));
+        }
+        assertThat(ingredientRepository.count()).isEqualTo(9);
+    }
+
+    @Test
+    void setIngredientNames_WithSameNormalizedNames_ShouldNotWriteAnything() {
+        Recipe recipe = loadWithIngredients(vegetarianRecipe.getId());
+        Statistics statistics = clearStatistics();
+
+        recipe.setIngredientNames(Arrays.asList("pasta", "TOMATO", "Basil"));
+        entityManager.flush();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(recipe.getIngredientNames()).containsExactly("Pasta", "Tomato", "Basil");
+    }
+
+    @Test
+    void setIngredientNames_WithOneChangedIngredient_ShouldUpdateOnlyThatPosition() {
+        Recipe recipe = loadWithIngredients(vegetarianRecipe.getId());
+        List<Ingredient> replacement = resolve("Pasta", "Egg", "Basil");
+        Statistics statistics = clearStatistics();
+
+        recipe.replaceIngredients(replacement);
+        entityManager.flush();
+
+        // One join table row plus the recipe's version bump
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(loadWithIngredients(vegetarianRecipe.getId()).getIngredientNames()).containsExactly("Pasta", "Egg", "Basil");
+    }
+
+    @Test
+    void setIngredientNames_WithAppendedIngredient_ShouldInsertOneRow() {
+        Recipe recipe = loadWithIngredients(vegetarianRecipe.getId());
+        List<Ingredient> replacement = resolve("Pasta", "Tomato", "Basil", "Cheese");
+        Statistics statistics = clearStatistics();
+
+        recipe.replaceIngredients(replacement);
+        entityManager.flush();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(loadWithIngredients(vegetarianRecipe.getId()).getIngredientNames()).containsExactly("Pasta", "Tomato", "Basil", "Cheese");
+    }
+
+    @Test
+    void setIngredientNames_WithDroppedLastIngredient_ShouldDeleteOneRow() {
+        Recipe recipe = loadWithIngredients(vegetarianRecipe.getId());
+        Statistics statistics = clearStatistics();
+
+        recipe.setIngredientNames(Arrays.asList("Pasta", "Tomato"));
+        entityManager.flush();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(loadWithIngredients(vegetarianRecipe.getId()).getIngredientNames()).containsExactly("Pasta", "Tomato");
+    }
+
+    @Test
+    void update_ShouldIncrementVersion() {
+        Long initialVersion = pastaRecipe.getVersion();
+
+        pastaRecipe.setTitle("Spaghetti alla Carbonara");
+        entityManager.flush();
+
+        assertThat(recipeRepository.findVersionById(pastaRecipe.getId()).orElseThrow().version())
+                .isEqualTo(initialVersion + 1);
+    }
+
+    @Test
+    void findVersionById_ShouldReturnLastModificationWithoutLoadingEntities() {
+        Statistics statistics = clearContextAndStatistics();
+
+        RecipeVersion version = recipeRepository.findVersionById(pastaRecipe.getId()).orElseThrow();
+
+        assertThat(version.id()).isEqualTo(pastaRecipe.getId());
+        assertThat(version.updatedAt()).isNotNull();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(recipeRepository.findVersionById(-1L)).isEmpty();
+    }
+
     @Test
     void searchRecipes_WithExcludeIngredients_ShouldReturnRecipesNotContainingIngredient() {
         List<String> excludeIngredients = Arrays.asList("beef");
-        List<Recipe> results = recipeRepository.searchRecipes(null, null, null, excludeIngredients, null);
+        List<Recipe> results = recipeRepository.searchRecipes(null, null, null, excludeIngredients, null, 0L, Pageable.unpaged());
         
         assertThat(results).hasSize(2);
         assertThat(results).containsExactlyInAnyOrder(vegetarianRecipe, pastaRecipe);
@@ -154,7 +368,7 @@ class RecipeRepositoryTest {
     @Test
     void searchRecipes_WithExcludeIngredients_CaseInsensitive_ShouldReturnRecipes() {
         List<String> excludeIngredients = Arrays.asList("BEEF");
-        List<Recipe> results = recipeRepository.searchRecipes(null, null, null, excludeIngredients, null);
+        List<Recipe> results = recipeRepository.searchRecipes(null, null, null, excludeIngredients, null, 0L, Pageable.unpaged());
         
         assertThat(results).hasSize(2);
         assertThat(results).containsExactlyInAnyOrder(vegetarianRecipe, pastaRecipe);
@@ -162,7 +376,7 @@ class RecipeRepositoryTest {
 
     @Test
     void searchRecipes_WithContentToFilter_ShouldReturnRecipesWithMatchingInstructions() {
-        List<Recipe> results = recipeRepository.searchRecipes(null, null, null, null, "pasta");
+        List<Recipe> results = recipeRepository.searchRecipes(null, null, null, null, "pasta", 0L, Pageable.unpaged());
         
         assertThat(results).hasSize(1);
         assertThat(results.get(0)).isEqualTo(vegetarianRecipe);
@@ -170,7 +384,7 @@ class RecipeRepositoryTest {
 
     @Test
     void searchRecipes_WithContentToFilter_CaseInsensitive_ShouldReturnRecipes() {
-        List<Recipe> results = recipeRepository.searchRecipes(null, null, null, null, "PASTA");
+        List<Recipe> results = recipeRepository.searchRecipes(null, null, null, null, "PASTA", 0L, Pageable.unpaged());
         
         assertThat(results).hasSize(1);
         assertThat(results.get(0)).isEqualTo(vegetarianRecipe);
@@ -180,7 +394,7 @@ class RecipeRepositoryTest {
     void searchRecipes_WithIncludeAndExcludeIngredients_ShouldApplyBothFilters() {
         List<String> includeIngredients = Arrays.asList("pasta");
         List<String> excludeIngredients = Arrays.asList("beef");
-        List<Recipe> results = recipeRepository.searchRecipes(null, null, includeIngredients, excludeIngredients, null);
+        List<Recipe> results = recipeRepository.searchRecipes(null, null, includeIngredients, excludeIngredients, null, 0L, Pageable.unpaged());
         
         assertThat(results).hasSize(1);
         assertThat(results.get(0)).isEqualTo(vegetarianRecipe);
@@ -190,7 +404,7 @@ class RecipeRepositoryTest {
     void searchRecipes_WithAllFilters_ShouldApplyAllFilters() {
         List<String> includeIngredients = Arrays.asList("pasta");
         List<String> excludeIngredients = Arrays.asList("beef");
-        List<Recipe> results = recipeRepository.searchRecipes(true, 4, includeIngredients, excludeIngredients, "Boil");
+        List<Recipe> results = recipeRepository.searchRecipes(true, 4, includeIngredients, excludeIngredients, "Boil", 0L, Pageable.unpaged());
         
         assertThat(results).hasSize(1);
         assertThat(results.get(0)).isEqualTo(vegetarianRecipe);
@@ -199,7 +413,7 @@ class RecipeRepositoryTest {
     @Test
     void searchRecipes_WithRestrictiveFilters_ShouldReturnEmptyList() {
         List<String> includeIngredients = Arrays.asList("nonexistent");
-        List<Recipe> results = recipeRepository.searchRecipes(null, null, includeIngredients, null, null);
+        List<Recipe> results = recipeRepository.searchRecipes(null, null, includeIngredients, null, null, 0L, Pageable.unpaged());
         
         assertThat(results).isEmpty();
     }
@@ -207,7 +421,7 @@ class RecipeRepositoryTest {
     @Test
     void searchRecipes_WithEmptyIncludeIngredients_ShouldReturnAllRecipes() {
         List<String> includeIngredients = Collections.emptyList();
-        List<Recipe> results = recipeRepository.searchRecipes(null, null, includeIngredients, null, null);
+        List<Recipe> results = recipeRepository.searchRecipes(null, null, includeIngredients, null, null, 0L, Pageable.unpaged());
         
         assertThat(results).hasSize(3);
     }
@@ -215,7 +429,7 @@ class RecipeRepositoryTest {
     @Test
     void searchRecipes_WithEmptyExcludeIngredients_ShouldReturnAllRecipes() {
         List<String> excludeIngredients = Collections.emptyList();
-        List<Recipe> results = recipeRepository.searchRecipes(null, null, null, excludeIngredients, null);
+        List<Recipe> results = recipeRepository.searchRecipes(null, null, null, excludeIngredients, null, 0L, Pageable.unpaged());
         
         assertThat(results).hasSize(3);
     }
@@ -224,7 +438,7 @@ class RecipeRepositoryTest {
     void searchRecipes_WithConflictingFilters_ShouldRespectExclusion() {
         List<String> includeIngredients = Arrays.asList("pasta");
         List<String> excludeIngredients = Arrays.asList("pasta");
-        List<Recipe> results = recipeRepository.searchRecipes(null, null, includeIngredients, excludeIngredients, null);
+        List<Recipe> results = recipeRepository.searchRecipes(null, null, includeIngredients, excludeIngredients, null, 0L, Pageable.unpaged());
         
         assertThat(results).isEmpty();
     }
@@ -232,9 +446,211 @@ class RecipeRepositoryTest {
     @Test
     void searchRecipes_WithPartialIngredientMatch_ShouldReturnRecipes() {
         List<String> includeIngredients = Arrays.asList("past");
-        List<Recipe> results = recipeRepository.searchRecipes(null, null, includeIngredients, null, null);
+        List<Recipe> results = recipeRepository.searchRecipes(null, null, includeIngredients, null, null, 0L, Pageable.unpaged());
         
         assertThat(results).hasSize(1);
         assertThat(results.get(0)).isEqualTo(vegetarianRecipe);
     }
+
+    @Test
+    void findPageAfter_ShouldReturnRecipesInIdOrderAfterCursor() {
+        List<Recipe> firstPage = recipeRepository.findPageAfter(0L, PageRequest.ofSize(2));
+
+        assertThat(firstPage).containsExactly(vegetarianRecipe, nonVegetarianRecipe);
+
+        List<Recipe> secondPage = recipeRepository.findPageAfter(firstPage.get(1).getId(), PageRequest.ofSize(2));
+
+        assertThat(secondPage).containsExactly(pastaRecipe);
+    }
+
+    @Test
+    void searchRecipes_WithCursor_ShouldOnlyReturnRecipesAfterCursor() {
+        List<Recipe> firstPage = recipeRepository.searchRecipes(false, null, null, null, null, 0L, PageRequest.ofSize(1));
+
+        assertThat(firstPage).containsExactly(nonVegetarianRecipe);
+
+        List<Recipe> secondPage = recipeRepository.searchRecipes(false, null, null, null, null, firstPage.get(0).getId(), PageRequest.ofSize(1));
+
+        assertThat(secondPage).containsExactly(pastaRecipe);
+    }
+
+    @Test
+    void findPageAfter_WhenReadingIngredients_ShouldUseConstantNumberOfStatements() {
+        Statistics statistics = clearContextAndStatistics();
+
+        List<Recipe> page = recipeRepository.findPageAfter(0L, PageRequest.ofSize(10));
+        page.forEach(Recipe::getIngredientNames);
+
+        assertThat(page).extracting(Recipe::getId)
+                .containsExactly(vegetarianRecipe.getId(), nonVegetarianRecipe.getId(), pastaRecipe.getId());
+        // One statement for the page, one batch for all ingredient collections
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void searchRecipes_WhenReadingIngredients_ShouldUseConstantNumberOfStatements() {
+        Statistics statistics = clearContextAndStatistics();
+
+        List<Recipe> results = recipeRepository.searchRecipes(false, null, null, null, null, 0L, PageRequest.ofSize(10));
+        results.forEach(Recipe::getIngredientNames);
+
+        assertThat(results).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void findById_ShouldFetchIngredientsInSameStatement() {
+        Statistics statistics = clearContextAndStatistics();
+
+        Recipe recipe = recipeRepository.findById(vegetarianRecipe.getId()).orElseThrow();
+
+        assertThat(recipe.getIngredientNames()).containsExactlyInAnyOrder("Pasta", "Tomato", "Basil");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findViewPageAfter_ShouldProjectRecipesWithAggregatedIngredients() {
+        Statistics statistics = clearContextAndStatistics();
+
+        List<RecipeView> views = recipeRepository.findViewPageAfter(0L, PageRequest.ofSize(10));
+
+        assertThat(views).extracting(RecipeView::id)
+                .containsExactly(vegetarianRecipe.getId(), nonVegetarianRecipe.getId(), pastaRecipe.getId());
+        assertThat(views.get(0).ingredients()).containsExactly("Pasta", "Tomato", "Basil");
+        assertThat(views.get(0).title()).isEqualTo("Vegetable Pasta");
+        // Single statement and no managed entities, compared to two statements and twelve entities on the entity path
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void searchRecipeViews_ShouldApplyFiltersWithoutLoadingEntities() {
+        Statistics statistics = clearContextAndStatistics();
+
+        List<RecipeView> views = recipeRepository.searchRecipeViews(null, null, null, Arrays.asList("beef"), null, 0L, PageRequest.ofSize(10));
+
+        assertThat(views).extracting(RecipeView::id)
+                .containsExactly(vegetarianRecipe.getId(), pastaRecipe.getId());
+        assertThat(views.get(1).ingredients()).containsExactly("Spaghetti", "Egg", "Cheese");
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findSummaryPageAfter_ShouldProjectShortColumnsOnly() {
+        Statistics statistics = clearContextAndStatistics();
+
+        List<RecipeSummary> summaries = recipeRepository.findSummaryPageAfter(vegetarianRecipe.getId(), PageRequest.ofSize(10));
+
+        assertThat(summaries).extracting(RecipeSummary::id)
+                .containsExactly(nonVegetarianRecipe.getId(), pastaRecipe.getId());
+        assertThat(summaries.get(0))
+                .extracting(RecipeSummary::title, RecipeSummary::vegetarian, RecipeSummary::servings, RecipeSummary::version)
+                .containsExactly("Beef Stew", false, 6, nonVegetarianRecipe.getVersion());
+        assertThat(summaries.get(0).createdAt()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void searchRecipeSummaries_ShouldApplyIngredientFilters() {
+        Statistics statistics = clearContextAndStatistics();
+
+        List<RecipeSummary> summaries = recipeRepository.searchRecipeSummaries(null, null, Arrays.asList("egg"), null, null, 0L, PageRequest.ofSize(10));
+
+        assertThat(summaries).extracting(RecipeSummary::title).containsExactly("Spaghetti Carbonara");
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findSummariesByIdIn_ShouldReturnExistingRecipesInIdOrder() {
+        List<RecipeSummary> summaries = recipeRepository.findSummariesByIdIn(Arrays.asList(pastaRecipe.getId(), vegetarianRecipe.getId(), -1L));
+
+        assertThat(summaries).extracting(RecipeSummary::id).containsExactly(vegetarianRecipe.getId(), pastaRecipe.getId());
+    }
+
+    @Test
+    void findPageAfter_ShouldHydrateRecipeAndIngredientEntities() {
+        Statistics statistics = clearContextAndStatistics();
+
+        recipeRepository.findPageAfter(0L, PageRequest.ofSize(10)).forEach(Recipe::getIngredientNames);
+
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(12);
+    }
+
+    @Test
+    void fullTextSearch_ShouldRankTitleMatchesAboveDescriptionMatches() {
+        List<Recipe> results = recipeRepository.fullTextSearch("pasta", 10);
+
+        assertThat(results).containsExactly(vegetarianRecipe, pastaRecipe);
+    }
+
+    @Test
+    void fullTextSearch_WithPartialWord_ShouldMatchCaseInsensitively() {
+        List<Recipe> results = recipeRepository.fullTextSearch("SPAG", 10);
+
+        assertThat(results).containsExactly(pastaRecipe);
+    }
+
+    @Test
+    void fullTextSearch_ShouldSearchInstructions() {
+        List<Recipe> results = recipeRepository.fullTextSearch("simmer", 10);
+
+        assertThat(results).containsExactly(nonVegetarianRecipe);
+    }
+
+    @Test
+    void fullTextSearch_UnderTurkishDefaultLocale_ShouldStillLowerCaseTheQuery() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            // Turkish lower-cases "I" to a dotless "ı", which would never match the stored text
+            List<Recipe> results = recipeRepository.fullTextSearch("SIMMER", 10);
+
+            assertThat(results).containsExactly(nonVegetarianRecipe);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void fullTextSearch_ShouldRespectLimit() {
+        List<Recipe> results = recipeRepository.fullTextSearch("vegetables", 1);
+
+        assertThat(results).hasSize(1);
+    }
+
+    @Test
+    void fullTextSearch_ShouldTreatLikeWildcardsLiterally() {
+        List<Recipe> results = recipeRepository.fullTextSearch("%", 10);
+
+        assertThat(results).isEmpty();
+    }
+
+    private List<Ingredient> resolve(String... names) {
+        return Arrays.stream(names)
+                .map(ingredientRepository::resolve)
+                .collect(Collectors.toList());
+    }
+
+    private Recipe loadWithIngredients(Long id) {
+        clearContextAndStatistics();
+        return recipeRepository.findById(id).orElseThrow();
+    }
+
+    private Statistics clearStatistics() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private Statistics clearContextAndStatistics() {
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.recime.api.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeSearchQueryTest {
+
+    private static final String SELECT = "SELECT r FROM Recipe r ";
+
+    @Test
+    void of_WithNoFilters_ShouldOnlyRenderKeysetPredicate() {
+        RecipeSearchQuery query = RecipeSearchQuery.of(null, null, null, null, null, 0L);
+
+        assertThat(query.jpql(SELECT)).isEqualTo("SELECT r FROM Recipe r WHERE r.id > :afterId ORDER BY r.id");
+        assertThat(query.parameters()).containsOnlyKeys("afterId");
+    }
+
+    @Test
+    void of_ShouldNotJoinIngredientsOrDeduplicate() {
+        RecipeSearchQuery query = RecipeSearchQuery.of(true, 4, Arrays.asList(1), Arrays.asList(2), "boil", 0L);
+
+        assertThat(query.jpql(SELECT)).doesNotContain("JOIN").doesNotContain("DISTINCT");
+    }
+
+    @Test
+    void of_ShouldOnlyRenderSuppliedPredicates() {
+        RecipeSearchQuery query = RecipeSearchQuery.of(true, null, null, Arrays.asList(2), null, 0L);
+
+        assertThat(query.jpql(SELECT))
+                .contains("r.vegetarian = :vegetarian")
+                .contains("NOT EXISTS")
+                .doesNotContain(":servings")
+                .doesNotContain(":includeIngredientIds")
+                .doesNotContain(":contentToFilter");
+        assertThat(query.parameters()).containsOnlyKeys("afterId", "vegetarian", "excludeIngredientIds");
+    }
+
+    @Test
+    void of_WithEmptyExcludeAndContent_ShouldTreatThemAsAbsent() {
+        RecipeSearchQuery query = RecipeSearchQuery.of(null, null, null, Collections.emptyList(), "", 0L);
+
+        assertThat(query.jpql(SELECT)).isEqualTo("SELECT r FROM Recipe r WHERE r.id > :afterId ORDER BY r.id");
+        assertThat(query.parameters()).containsOnlyKeys("afterId");
+    }
+
+    @Test
+    void of_WithNoResolvedIncludeIds_ShouldMatchNothing() {
+        RecipeSearchQuery query = RecipeSearchQuery.of(null, null, Collections.emptyList(), null, null, 0L);
+
+        assertThat(query.jpql(SELECT)).contains("1 = 0");
+        assertThat(query.parameters()).containsOnlyKeys("afterId");
+    }
+
+    @Test
+    void of_WithSameFilterShape_ShouldRenderIdenticalJpql() {
+        RecipeSearchQuery first = RecipeSearchQuery.of(true, 2, Arrays.asList(7), null, "boil", 0L);
+        RecipeSearchQuery second = RecipeSearchQuery.of(false, 8, Arrays.asList(3, 11), null, "simmer", 42L);
+
+        assertThat(first.jpql(SELECT)).isEqualTo(second.jpql(SELECT));
+    }
+
+    @Test
+    void of_WithContentToFilter_ShouldBindSubstringPattern() {
+        RecipeSearchQuery query = RecipeSearchQuery.of(null, null, null, null, "boil", 0L);
+
+        assertThat(query.parameters()).containsEntry("contentToFilter", "%boil%");
+    }
+
+    @Test
+    void of_ShouldFilterIngredientsByCatalogId() {
+        RecipeSearchQuery query = RecipeSearchQuery.of(null, null, Arrays.asList(1, 2), Arrays.asList(3), null, 0L);
+
+        assertThat(query.jpql(SELECT)).contains("ing.id IN").contains("ing2.id IN").doesNotContain("name");
+        assertThat(query.parameters()).containsEntry("includeIngredientIds", Arrays.asList(1, 2));
+        assertThat(query.parameters()).containsEntry("excludeIngredientIds", Arrays.asList(3));
+    }
+}
\ No newline at end of file
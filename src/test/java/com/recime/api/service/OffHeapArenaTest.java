@@ -0,0 +1,60 @@
+package com.recime.api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffHeapArenaTest {
+
+    @Test
+    void allocate_ShouldStorePartsBackToBackAcrossBlocks() {
+        OffHeapArena arena = new OffHeapArena(1024, 64);
+        byte[] first = bytes(100, 1);
+        byte[] second = bytes(50, 2);
+
+        OffHeapArena.Allocation allocation = arena.allocate(first, second);
+
+        assertThat(allocation.length()).isEqualTo(150);
+        assertThat(allocation.blocks()).hasSize(3);
+        assertThat(arena.read(allocation, 0, 100)).isEqualTo(first);
+        assertThat(arena.read(allocation, 100, 50)).isEqualTo(second);
+        assertThat(arena.freeBlocks()).isEqualTo(13);
+    }
+
+    @Test
+    void allocate_WhenArenaIsFull_ShouldReturnNull() {
+        OffHeapArena arena = new OffHeapArena(256, 64);
+        arena.allocate(bytes(192, 1));
+
+        assertThat(arena.allocate(bytes(65, 2))).isNull();
+        assertThat(arena.allocate(bytes(64, 3))).isNotNull();
+        assertThat(arena.freeBlocks()).isZero();
+    }
+
+    @Test
+    void release_ShouldMakeBlocksReusable() {
+        OffHeapArena arena = new OffHeapArena(256, 64);
+        OffHeapArena.Allocation first = arena.allocate(bytes(256, 1));
+
+        arena.release(first);
+        OffHeapArena.Allocation second = arena.allocate(bytes(256, 2));
+
+        assertThat(second).isNotNull();
+        assertThat(arena.read(second, 0, 256)).isEqualTo(bytes(256, 2));
+    }
+
+    @Test
+    void constructor_WithBlockSizeNotDividingSegments_ShouldFail() {
+        assertThatThrownBy(() -> new OffHeapArena(1024, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] bytes(int length, int value) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) value);
+        return bytes;
+    }
+}
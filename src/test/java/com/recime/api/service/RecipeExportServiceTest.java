@@ -0,0 +1,124 @@
+package com.recime.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.recime.api.dto.RecipeView;
+import com.recime.api.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeExportServiceTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private RecipeExportService recipeExportService;
+
+    @BeforeEach
+    void setUp() {
+        recipeExportService = new RecipeExportService(recipeRepository, objectMapper);
+    }
+
+    @Test
+    void exportRecipes_AsNdjson_ShouldWriteOneRecipePerLine() throws IOException {
+        when(recipeRepository.streamViews()).thenReturn(Stream.of(view(1L, "Soup"), view(2L, "Stew")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = recipeExportService.exportRecipes(out, RecipeExportService.Format.NDJSON, false);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines.get(1)).get("title").asText()).isEqualTo("Stew");
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith("\n");
+    }
+
+    @Test
+    void exportRecipes_AsJson_ShouldWriteOneArray() throws IOException {
+        when(recipeRepository.streamViews()).thenReturn(Stream.of(view(1L, "Soup"), view(2L, "Stew")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        recipeExportService.exportRecipes(out, RecipeExportService.Format.JSON, false);
+
+        JsonNode views = objectMapper.readTree(out.toByteArray());
+        assertThat(views).extracting(view -> view.get("id").asLong()).containsExactly(1L, 2L);
+        assertThat(views.get(0).get("ingredients")).extracting(JsonNode::asText).containsExactly("Tomato", "Basil");
+    }
+
+    @Test
+    void exportRecipes_WithGzip_ShouldWriteCompleteGzipStream() throws IOException {
+        when(recipeRepository.streamViews()).thenReturn(Stream.of(view(1L, "Soup")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        recipeExportService.exportRecipes(out, RecipeExportService.Format.NDJSON, true);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(objectMapper.readTree(body).get("id").asLong()).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    void exportRecipes_AsCbor_ShouldWriteOneArray() throws IOException {
+        when(recipeRepository.streamViews()).thenReturn(Stream.of(view(1L, "Soup"), view(2L, "Stew")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        recipeExportService.exportRecipes(out, RecipeExportService.Format.CBOR, false);
+
+        JsonNode views = new CBORMapper().readTree(out.toByteArray());
+        assertThat(views).extracting(view -> view.get("title").asText()).containsExactly("Soup", "Stew");
+        assertThat(views.get(0).get("createdAt").asText()).isEqualTo("2024-01-01T12:00:00");
+    }
+
+    @Test
+    void exportRecipes_AsSmile_ShouldWriteOneArray() throws IOException {
+        when(recipeRepository.streamViews()).thenReturn(Stream.of(view(1L, "Soup"), view(2L, "Stew")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = recipeExportService.exportRecipes(out, RecipeExportService.Format.SMILE, false);
+
+        JsonNode views = new SmileMapper().readTree(out.toByteArray());
+        assertThat(count).isEqualTo(2);
+        assertThat(views).extracting(view -> view.get("id").asLong()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void exportRecipes_WithNoRecipes_ShouldWriteEmptyArray() throws IOException {
+        when(recipeRepository.streamViews()).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = recipeExportService.exportRecipes(out, RecipeExportService.Format.JSON, false);
+
+        assertThat(count).isZero();
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+    }
+
+    private static RecipeView view(Long id, String title) {
+        return new RecipeView(id, title, null, List.of("Tomato", "Basil"), "Cook", true, 2, CREATED_AT, null, 0L);
+    }
+}
@@ -0,0 +1,161 @@
+package com.recime.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recime.api.config.BulkImportProperties;
+import com.recime.api.dto.BulkImportResult;
+import com.recime.api.dto.RecipeRequest;
+import com.recime.api.entity.Recipe;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeImportServiceTest {
+
+    private static final String VALID = "{\"title\":\"%s\",\"ingredients\":[\"Tomato\"],\"instructions\":\"Cook\"}";
+
+    @Mock
+    private RecipeService recipeService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private final Function<RecipeRequest, Recipe> toEntity = request -> Recipe.builder()
+            .title(request.getTitle())
+            .instructions(request.getInstructions())
+            .build();
+
+    private RecipeImportService recipeImportService;
+
+    @BeforeEach
+    void setUp() {
+        BulkImportProperties properties = new BulkImportProperties();
+        properties.setChunkSize(2);
+        recipeImportService = new RecipeImportService(recipeService, objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), properties, entityManager);
+    }
+
+    @Test
+    void importRecipes_WithJsonArray_ShouldWriteInChunks() throws IOException {
+        stubCreateRecipes();
+
+        BulkImportResult result = importRecipes("[" + valid("A") + "," + valid("B") + "," + valid("C") + "]");
+
+        assertThat(result.getReceived()).isEqualTo(3);
+        assertThat(result.getCreatedIds()).containsExactly(1L, 2L, 3L);
+        assertThat(result.getErrors()).isEmpty();
+        verify(recipeService, times(2)).createRecipes(anyList());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void importRecipes_WithNdjson_ShouldReportInvalidItemsByIndex() throws IOException {
+        stubCreateRecipes();
+
+        BulkImportResult result = importRecipes(valid("A") + "\n{\"title\":\"\",\"instructions\":\"Cook\"}\n"
+                + "{\"title\":\"B\",\"servings\":\"many\"}\n" + valid("C") + "\n");
+
+        assertThat(result.getReceived()).isEqualTo(4);
+        assertThat(result.getCreatedIds()).containsExactly(1L, 2L);
+        assertThat(result.getErrors()).extracting(BulkImportResult.ItemError::index).containsExactly(1, 2);
+        assertThat(result.getErrors().get(0).messages())
+                .containsExactly("ingredients: At least one ingredient is required", "title: Title is required");
+    }
+
+    @Test
+    void importRecipes_WithNullOrBlankIngredient_ShouldReportTheItemByIndex() throws IOException {
+        stubCreateRecipes();
+
+        BulkImportResult result = importRecipes(valid("A") + "\n"
+                + "{\"title\":\"B\",\"ingredients\":[\"Tomato\",null,\" \"],\"instructions\":\"Cook\"}\n" + valid("C") + "\n");
+
+        assertThat(result.getCreatedIds()).containsExactly(1L, 2L);
+        assertThat(result.getErrors()).extracting(BulkImportResult.ItemError::index).containsExactly(1);
+        assertThat(result.getErrors().get(0).messages()).containsExactly(
+                "ingredients[1].<list element>: Ingredient names must not be blank",
+                "ingredients[2].<list element>: Ingredient names must not be blank");
+    }
+
+    @Test
+    void importRecipes_WithMalformedJson_ShouldKeepItemsBeforeTheError() throws IOException {
+        stubCreateRecipes();
+
+        BulkImportResult result = importRecipes(valid("A") + "\n{\"title\": \n" + valid("B"));
+
+        assertThat(result.getCreatedIds()).containsExactly(1L);
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(result.getErrors().get(0).index()).isEqualTo(1);
+        assertThat(result.getErrors().get(0).messages().get(0)).startsWith("Malformed JSON");
+    }
+
+    @Test
+    void importRecipes_WhenChunkFails_ShouldRetryItemByItem() throws IOException {
+        when(recipeService.createRecipes(anyList())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(recipeService.createRecipe(any(Recipe.class))).thenAnswer(invocation -> {
+            Recipe recipe = invocation.getArgument(0);
+            if ("B".equals(recipe.getTitle())) {
+                throw new DataIntegrityViolationException("duplicate key value violates unique constraint \"uk_recipes\"");
+            }
+            if ("C".equals(recipe.getTitle())) {
+                throw new IllegalStateException("could not execute statement [insert into recipes ...]");
+            }
+            recipe.setId(ids.incrementAndGet());
+            return recipe;
+        });
+
+        BulkImportResult result = importRecipes("[" + valid("A") + "," + valid("B") + "," + valid("C") + "]");
+
+        assertThat(result.getCreatedIds()).containsExactly(1L);
+        assertThat(result.getErrors()).containsExactly(
+                new BulkImportResult.ItemError(1, List.of("Recipe conflicts with existing data")),
+                new BulkImportResult.ItemError(2, List.of("Recipe could not be saved")));
+    }
+
+    @Test
+    void importRecipes_WithEmptyArray_ShouldWriteNothing() throws IOException {
+        BulkImportResult result = importRecipes("[]");
+
+        assertThat(result.getReceived()).isZero();
+        verify(recipeService, never()).createRecipes(anyList());
+    }
+
+    private void stubCreateRecipes() {
+        when(recipeService.createRecipes(anyList())).thenAnswer(invocation -> {
+            List<Recipe> recipes = invocation.getArgument(0);
+            recipes.forEach(recipe -> recipe.setId(ids.incrementAndGet()));
+            return recipes;
+        });
+    }
+
+    private BulkImportResult importRecipes(String body) throws IOException {
+        return recipeImportService.importRecipes(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), toEntity);
+    }
+
+    private static String valid(String title) {
+        return VALID.formatted(title);
+    }
+}
@@ -0,0 +1,238 @@
+package com.recime.api.service;
+
+import com.recime.api.config.CoalescingProperties;
+import com.recime.api.config.PaginationProperties;
+import com.recime.api.entity.Ingredient;
+import com.recime.api.entity.Recipe;
+import com.recime.api.exception.ResourceNotFoundException;
+import com.recime.api.repository.IngredientRepository;
+import com.recime.api.repository.RecipeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeReadCoalescerTest {
+
+    private static final int CALLERS = 5;
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    @Mock
+    private RecipeSearchIndex recipeSearchIndex;
+
+    @Mock
+    private RecipeResponseCache recipeResponseCache;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CoalescingProperties properties = new CoalescingProperties();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    private RecipeService recipeService;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(
+                new RecipeService(recipeRepository, new PaginationProperties(), ingredientRepository, recipeSearchIndex, recipeResponseCache));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new RecipeReadCoalescer(properties, meterRegistry));
+        recipeService = proxyFactory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getRecipeById_WithConcurrentCallers_ShouldLoadOnce() throws Exception {
+        Recipe recipe = Recipe.builder().id(1L).title("Soup").build();
+        when(recipeRepository.findById(1L)).thenAnswer(invocation -> {
+            awaitCoalesced(CALLERS - 1);
+            return Optional.of(recipe);
+        });
+
+        List<Recipe> results = new ArrayList<>();
+        for (Future<Recipe> future : submit(() -> recipeService.getRecipeById(1L))) {
+            results.add(future.get(10, TimeUnit.SECONDS));
+        }
+
+        assertThat(results).hasSize(CALLERS)
+                .allSatisfy(result -> assertThat(result.getTitle()).isEqualTo("Soup"))
+                .filteredOn(result -> result == recipe).hasSize(1);
+        verify(recipeRepository, times(1)).findById(1L);
+        assertThat(coalesced().count()).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void getRecipeById_WithConcurrentCallers_ShouldKeepTheManagedEntityOnTheLoadingThread() throws Exception {
+        Recipe recipe = Recipe.builder().id(1L).title("Soup").build();
+        when(recipeRepository.findById(1L)).thenAnswer(invocation -> {
+            recipe.setIngredients(new ThreadConfinedList<>(List.of(new Ingredient("Leek"), new Ingredient("Potato"))));
+            awaitCoalesced(CALLERS - 1);
+            return Optional.of(recipe);
+        });
+
+        List<Future<List<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(() -> recipeService.getRecipeById(1L).getIngredientNames()));
+        }
+
+        for (Future<List<String>> future : futures) {
+            assertThat(future.get(10, TimeUnit.SECONDS)).containsExactly("Leek", "Potato");
+        }
+        assertThat(coalesced().count()).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void getRecipeById_WhenSharedCallThrows_ShouldThrowToEveryCaller() throws Exception {
+        when(recipeRepository.findById(1L)).thenAnswer(invocation -> {
+            awaitCoalesced(CALLERS - 1);
+            return Optional.empty();
+        });
+
+        for (Future<Recipe> future : submit(() -> recipeService.getRecipeById(1L))) {
+            assertThatThrownBy(() -> future.get(10, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(ResourceNotFoundException.class);
+        }
+        verify(recipeRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getRecipeById_WithSequentialCalls_ShouldLoadEachTime() {
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(new Recipe()));
+
+        recipeService.getRecipeById(1L);
+        recipeService.getRecipeById(1L);
+
+        verify(recipeRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void getRecipeById_InsideTransaction_ShouldNotJoinOtherCalls() {
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(new Recipe()));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            recipeService.getRecipeById(1L);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertThat(meterRegistry.find(RecipeReadCoalescer.COUNTER_NAME).counter()).isNull();
+    }
+
+    @Test
+    void getRecipeById_AfterWriteCompleted_ShouldNotJoinCallStartedBeforeIt() throws Exception {
+        Recipe stale = Recipe.builder().id(1L).title("Soup").build();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        when(recipeRepository.findById(1L)).thenAnswer(invocation -> {
+            if (loads.getAndIncrement() > 0) {
+                return Optional.empty();
+            }
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return Optional.of(stale);
+        });
+        when(recipeRepository.deleteAllByIdIn(Set.of(1L))).thenReturn(1);
+
+        Future<Recipe> before = executor.submit(() -> recipeService.getRecipeById(1L));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        recipeService.deleteRecipes(List.of(1L));
+        Future<Recipe> after = executor.submit(() -> recipeService.getRecipeById(1L));
+
+        assertThatThrownBy(() -> after.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ResourceNotFoundException.class);
+        release.countDown();
+        assertThat(before.get(10, TimeUnit.SECONDS)).isSameAs(stale);
+        verify(recipeRepository, times(2)).findById(1L);
+        assertThat(meterRegistry.find(RecipeReadCoalescer.COUNTER_NAME).counter()).isNull();
+    }
+
+    private List<Future<Recipe>> submit(Callable<Recipe> call) {
+        List<Future<Recipe>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(call));
+        }
+        return futures;
+    }
+
+    // Holds the shared call open until the other callers have joined it
+    private void awaitCoalesced(int followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            Counter counter = meterRegistry.find(RecipeReadCoalescer.COUNTER_NAME).counter();
+            if (counter != null && counter.count() >= followers) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    // Stands in for a PersistentBag: only the thread whose session loaded it may touch it
+    private static class ThreadConfinedList<E> extends AbstractList<E> {
+
+        private final Thread owner = Thread.currentThread();
+        private final List<E> elements;
+
+        ThreadConfinedList(List<E> elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public E get(int index) {
+            checkOwner();
+            return elements.get(index);
+        }
+
+        @Override
+        public int size() {
+            checkOwner();
+            return elements.size();
+        }
+
+        private void checkOwner() {
+            if (Thread.currentThread() != owner) {
+                throw new IllegalStateException("Collection read outside the thread of its session");
+            }
+        }
+    }
+
+    private Counter coalesced() {
+        return meterRegistry.get(RecipeReadCoalescer.COUNTER_NAME).tag("method", "getRecipeById").counter();
+    }
+}
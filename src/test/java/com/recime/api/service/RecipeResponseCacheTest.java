@@ -0,0 +1,250 @@
+package com.recime.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.recime.api.config.ResponseCacheProperties;
+import com.recime.api.dto.RecipeDTO;
+import com.recime.api.dto.RecipeVersion;
+import com.recime.api.entity.Recipe;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeResponseCacheTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private ResponseCacheProperties properties;
+    private RecipeResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResponseCacheProperties();
+        properties.setEnabled(true);
+        cache = new RecipeResponseCache(properties, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void put_ShouldCacheSerializedRecipe() throws IOException {
+        cache.put(version(1L, 0L), recipe(1L, "Cook"));
+
+        RecipeResponseCache.Entry entry = cache.get(1L);
+
+        assertThat(entry).isNotNull();
+        assertThat(entry.eTag()).isEqualTo("\"1-0\"");
+        assertThat(objectMapper.readTree(entry.json()).get("instructions").asText()).isEqualTo("Cook");
+        assertThat(entry.gzip()).isNull();
+    }
+
+    @Test
+    void gzip_WithLargeRecipe_ShouldCompressOnceAndKeepTheVariant() throws IOException {
+        String instructions = "Stir and simmer. ".repeat(200);
+        RecipeResponseCache.Entry entry = cache.put(version(1L, 0L), recipe(1L, instructions));
+        assertThat(entry.gzip()).isNull();
+
+        byte[] gzip = cache.gzip(1L, entry);
+
+        assertThat(gzip).isNotNull().hasSizeLessThan(entry.json().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            assertThat(in.readAllBytes()).isEqualTo(entry.json());
+        }
+        RecipeResponseCache.Entry cached = cache.get(1L);
+        assertThat(cached.gzip()).isEqualTo(gzip);
+        assertThat(cache.gzip(1L, cached)).isSameAs(cached.gzip());
+    }
+
+    @Test
+    void gzip_WithSmallRecipe_ShouldReturnNull() {
+        RecipeResponseCache.Entry entry = cache.put(version(1L, 0L), recipe(1L, "Cook"));
+
+        assertThat(cache.gzip(1L, entry)).isNull();
+    }
+
+    @Test
+    void gzip_AfterNewerVersionWasCached_ShouldNotReplaceIt() {
+        String instructions = "Stir and simmer. ".repeat(200);
+        RecipeResponseCache.Entry old = cache.put(version(1L, 0L), recipe(1L, instructions));
+        cache.put(version(1L, 1L), recipe(1L, instructions));
+
+        assertThat(cache.gzip(1L, old)).isNotNull();
+
+        assertThat(cache.get(1L).version()).isEqualTo(1L);
+        assertThat(cache.get(1L).gzip()).isNull();
+    }
+
+    @Test
+    void put_WhenDisabled_ShouldServeWithoutCaching() {
+        properties.setEnabled(false);
+
+        RecipeResponseCache.Entry entry = cache.put(version(1L, 0L), recipe(1L, "Cook"));
+
+        assertThat(entry.json()).isNotEmpty();
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void put_WithOlderVersion_ShouldKeepNewerEntry() {
+        cache.put(version(1L, 2L), recipe(1L, "New"));
+
+        cache.put(version(1L, 1L), recipe(1L, "Old"));
+
+        assertThat(cache.get(1L).version()).isEqualTo(2L);
+    }
+
+    @Test
+    void invalidate_ShouldRejectBodiesLoadedBeforeTheWrite() {
+        cache.put(version(1L, 0L), recipe(1L, "Cook"));
+
+        cache.invalidate(Recipe.builder().id(1L).version(1L).build());
+        cache.put(version(1L, 0L), recipe(1L, "Cook"));
+
+        assertThat(cache.get(1L)).isNull();
+        cache.put(version(1L, 1L), recipe(1L, "Simmer"));
+        assertThat(cache.get(1L).version()).isEqualTo(1L);
+    }
+
+    @Test
+    void invalidate_InTransaction_ShouldApplyAfterCommit() {
+        cache.put(version(1L, 0L), recipe(1L, "Cook"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidate(Recipe.builder().id(1L).version(1L).build());
+
+        assertThat(cache.get(1L)).isNotNull();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void invalidateDeleted_ShouldRejectAnyLaterPut() {
+        cache.put(version(1L, 3L), recipe(1L, "Cook"));
+
+        cache.invalidateDeleted(1L);
+        cache.put(version(1L, 3L), recipe(1L, "Cook"));
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void put_OffHeap_ShouldServeCopiesOfTheStoredBodies() throws IOException {
+        cache = offHeapCache(DataSize.ofMegabytes(1));
+        String instructions = "Stir and simmer. ".repeat(200);
+
+        RecipeResponseCache.Entry put = cache.put(version(1L, 0L), recipe(1L, instructions));
+        byte[] gzip = cache.gzip(1L, put);
+        RecipeResponseCache.Entry stored = new RecipeResponseCache.Entry(put.version(), put.eTag(), put.lastModified(), put.json(), gzip);
+        RecipeResponseCache.Entry entry = cache.get(1L);
+
+        assertThat(entry).isNotSameAs(stored);
+        assertThat(entry.eTag()).isEqualTo(stored.eTag());
+        assertThat(entry.lastModified()).isEqualTo(stored.lastModified());
+        assertThat(entry.json()).isEqualTo(stored.json());
+        assertThat(entry.gzip()).isEqualTo(stored.gzip());
+        assertThat(objectMapper.readTree(entry.json()).get("instructions").asText()).isEqualTo(instructions);
+    }
+
+    @Test
+    void put_OffHeap_WithOlderVersionOrAfterInvalidation_ShouldKeepNewerEntry() {
+        cache = offHeapCache(DataSize.ofMegabytes(1));
+        cache.put(version(1L, 2L), recipe(1L, "New"));
+
+        cache.put(version(1L, 1L), recipe(1L, "Old"));
+        assertThat(cache.get(1L).version()).isEqualTo(2L);
+
+        cache.invalidate(Recipe.builder().id(1L).version(3L).build());
+        cache.put(version(1L, 2L), recipe(1L, "New"));
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void put_OffHeap_WhenArenaIsFull_ShouldEvictAndReuseBlocks() {
+        cache = offHeapCache(DataSize.ofKilobytes(16));
+
+        for (long id = 1; id <= 500; id++) {
+            cache.put(version(id, 0L), recipe(id, "Cook " + id));
+        }
+
+        assertThat(cache.get(500L)).isNotNull();
+        for (long id = 1; id <= 500; id++) {
+            RecipeResponseCache.Entry entry = cache.get(id);
+            if (entry != null) {
+                assertThat(new String(entry.json())).contains("\"Cook " + id + "\"");
+            }
+        }
+    }
+
+    @Test
+    void invalidate_WhenArenaIsFull_ShouldKeepMarkersAndRejectStalePuts() {
+        cache = offHeapCache(DataSize.ofKilobytes(16));
+        cache.put(version(1L, 1L), recipe(1L, "Old"));
+        cache.invalidate(Recipe.builder().id(1L).version(2L).build());
+        cache.invalidateDeleted(2L);
+
+        // Each body takes most of the arena, so storing the next one drops the coldest entries
+        for (long id = 3; id <= 6; id++) {
+            cache.put(version(id, 0L), recipe(id, "x".repeat(10_000)));
+        }
+        cache.put(version(1L, 1L), recipe(1L, "Old"));
+        cache.put(version(2L, 1L), recipe(2L, "Deleted"));
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.get(6L)).isNotNull();
+    }
+
+    @Test
+    void put_OffHeap_WithBodyLargerThanArena_ShouldServeWithoutCaching() {
+        cache = offHeapCache(DataSize.ofKilobytes(1));
+
+        RecipeResponseCache.Entry entry = cache.put(version(1L, 0L), recipe(1L, "x".repeat(4096)));
+
+        assertThat(entry.json()).hasSizeGreaterThan(4096);
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    private RecipeResponseCache offHeapCache(DataSize maxSize) {
+        properties.setStorage(ResponseCacheProperties.Storage.OFF_HEAP);
+        properties.setMaxSize(maxSize);
+        return new RecipeResponseCache(properties, objectMapper);
+    }
+
+    private static RecipeVersion version(Long id, Long version) {
+        return new RecipeVersion(id, version, UPDATED_AT);
+    }
+
+    private static RecipeDTO recipe(Long id, String instructions) {
+        return RecipeDTO.builder()
+                .id(id)
+                .title("Soup")
+                .ingredients(List.of("Tomato"))
+                .instructions(instructions)
+                .vegetarian(true)
+                .servings(2)
+                .createdAt(UPDATED_AT)
+                .updatedAt(UPDATED_AT)
+                .build();
+    }
+}
@@ -0,0 +1,166 @@
+package com.recime.api.service;
+
+import com.recime.api.config.SearchIndexProperties;
+import com.recime.api.entity.Ingredient;
+import com.recime.api.entity.Recipe;
+import com.recime.api.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecipeSearchIndexTest {
+
+    private static final int PASTA = 1;
+    private static final int TOMATO = 2;
+    private static final int BEEF = 3;
+
+    private RecipeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        SearchIndexProperties properties = new SearchIndexProperties();
+        properties.setEnabled(true);
+        // Writes outside a transaction are applied straight away
+        index = new RecipeSearchIndex(properties, null, null);
+
+        index.index(recipe(1L, true, 4, PASTA, TOMATO));
+        index.index(recipe(2L, false, 6, BEEF, TOMATO));
+        index.index(recipe(3L, false, 2, PASTA));
+    }
+
+    private static Recipe recipe(Long id, boolean vegetarian, int servings, Integer... ingredientIds) {
+        Recipe recipe = Recipe.builder().id(id).vegetarian(vegetarian).servings(servings).build();
+        for (Integer ingredientId : ingredientIds) {
+            Ingredient ingredient = new Ingredient("ingredient " + ingredientId);
+            ingredient.setId(ingredientId);
+            recipe.getIngredients().add(ingredient);
+        }
+        return recipe;
+    }
+
+    @Test
+    void search_WithNoFilters_ShouldReturnAllIdsInOrder() {
+        assertThat(index.search(null, null, null, null, 0L, 10)).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void search_ShouldIntersectVegetarianAndServings() {
+        assertThat(index.search(true, null, null, null, 0L, 10)).containsExactly(1L);
+        assertThat(index.search(false, 2, null, null, 0L, 10)).containsExactly(3L);
+        assertThat(index.search(null, 5, null, null, 0L, 10)).isEmpty();
+    }
+
+    @Test
+    void search_WithIncludeIngredients_ShouldMatchAnyOfThem() {
+        assertThat(index.search(null, null, Arrays.asList(PASTA, BEEF), null, 0L, 10)).containsExactly(1L, 2L, 3L);
+        assertThat(index.search(null, null, Arrays.asList(BEEF), null, 0L, 10)).containsExactly(2L);
+    }
+
+    @Test
+    void search_WithNoResolvedIncludeIds_ShouldMatchNothing() {
+        assertThat(index.search(null, null, List.of(), null, 0L, 10)).isEmpty();
+    }
+
+    @Test
+    void search_WithExcludeIngredients_ShouldDropRecipesWithAnyOfThem() {
+        assertThat(index.search(null, null, null, Arrays.asList(TOMATO), 0L, 10)).containsExactly(3L);
+        assertThat(index.search(null, null, Arrays.asList(PASTA), Arrays.asList(TOMATO), 0L, 10)).containsExactly(3L);
+    }
+
+    @Test
+    void search_ShouldStartAfterCursorAndStopAtLimit() {
+        assertThat(index.search(null, null, null, null, 1L, 10)).containsExactly(2L, 3L);
+        assertThat(index.search(null, null, null, null, 0L, 2)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void search_StartingFromNarrowFilter_ShouldLeaveIndexedBitmapsUntouched() {
+        assertThat(index.search(null, 4, null, Arrays.asList(TOMATO), 0L, 10)).isEmpty();
+        assertThat(index.search(true, null, null, Arrays.asList(TOMATO), 0L, 10)).isEmpty();
+
+        assertThat(index.search(null, 4, null, null, 0L, 10)).containsExactly(1L);
+        assertThat(index.search(true, null, null, null, 0L, 10)).containsExactly(1L);
+    }
+
+    @Test
+    void search_WithSparseIds_ShouldFindRecipesFarApart() {
+        index.index(recipe(2_000_000_000L, true, 4, PASTA));
+
+        assertThat(index.search(true, 4, Arrays.asList(PASTA), null, 1L, 10)).containsExactly(2_000_000_000L);
+        assertThat(index.search(null, null, null, null, 3L, 10)).containsExactly(2_000_000_000L);
+    }
+
+    @Test
+    void index_WhenRecipeChanges_ShouldReplacePreviousAttributes() {
+        index.index(RecipeSearchIndex.Attributes.of(recipe(1L, true, 4, PASTA, TOMATO)), recipe(1L, false, 6, BEEF));
+
+        assertThat(index.search(true, null, null, null, 0L, 10)).isEmpty();
+        assertThat(index.search(null, null, Arrays.asList(PASTA), null, 0L, 10)).containsExactly(3L);
+        assertThat(index.search(null, 6, Arrays.asList(BEEF), null, 0L, 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void index_WhenIngredientIsKept_ShouldStillListRecipeUnderIt() {
+        index.index(RecipeSearchIndex.Attributes.of(recipe(1L, true, 4, PASTA, TOMATO)), recipe(1L, true, 4, TOMATO));
+
+        assertThat(index.search(true, 4, Arrays.asList(TOMATO), null, 0L, 10)).containsExactly(1L);
+        assertThat(index.search(null, null, Arrays.asList(PASTA), null, 0L, 10)).containsExactly(3L);
+    }
+
+    @Test
+    void remove_ShouldDropRecipeFromEveryBitmap() {
+        index.remove(recipe(2L, false, 6, BEEF, TOMATO));
+
+        assertThat(index.search(null, null, null, null, 0L, 10)).containsExactly(1L, 3L);
+        assertThat(index.search(null, null, Arrays.asList(BEEF), null, 0L, 10)).isEmpty();
+        assertThat(index.search(null, 6, null, null, 0L, 10)).isEmpty();
+    }
+
+    @Test
+    void removeAll_ShouldDropRecipesKnownOnlyById() {
+        index.removeAll(List.of(1L, 2L, 99L));
+
+        assertThat(index.search(null, null, null, null, 0L, 10)).containsExactly(3L);
+        assertThat(index.search(null, null, Arrays.asList(TOMATO), null, 0L, 10)).isEmpty();
+        assertThat(index.search(true, null, null, null, 0L, 10)).isEmpty();
+        assertThat(index.search(null, 2, Arrays.asList(PASTA), null, 0L, 10)).containsExactly(3L);
+    }
+
+    @Test
+    void rebuild_ShouldLoadRowsAndLinksStraightIntoTheBitmaps() {
+        RecipeRepository recipeRepository = mock(RecipeRepository.class);
+        when(recipeRepository.streamSearchAttributes()).thenReturn(Stream.of(
+                new Object[] { 10L, true, 2 },
+                new Object[] { 11L, false, 2 }));
+        when(recipeRepository.streamIngredientLinks()).thenReturn(Stream.of(
+                new Object[] { 10L, PASTA },
+                new Object[] { 11L, BEEF },
+                // Recipe created after the attributes were read
+                new Object[] { 12L, BEEF }));
+        SearchIndexProperties properties = new SearchIndexProperties();
+        properties.setEnabled(true);
+        RecipeSearchIndex rebuilt = new RecipeSearchIndex(properties, recipeRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+        rebuilt.rebuild();
+
+        assertThat(rebuilt.isReady()).isTrue();
+        assertThat(rebuilt.search(null, null, null, null, 0L, 10)).containsExactly(10L, 11L);
+        assertThat(rebuilt.search(null, 2, Arrays.asList(BEEF), null, 0L, 10)).containsExactly(11L);
+        assertThat(rebuilt.search(true, null, Arrays.asList(PASTA), null, 0L, 10)).containsExactly(10L);
+    }
+
+    @Test
+    void isReady_ShouldBeFalseUntilRebuilt() {
+        assertThat(index.isReady()).isFalse();
+    }
+}
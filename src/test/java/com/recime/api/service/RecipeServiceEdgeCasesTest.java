@@ -1,14 +1,20 @@
 package com.recime.api.service;
 
+import com.recime.api.config.PaginationProperties;
+import com.recime.api.entity.Ingredient;
 import com.recime.api.entity.Recipe;
 import com.recime.api.exception.ResourceNotFoundException;
+import com.recime.api.repository.IngredientRepository;
 import com.recime.api.repository.RecipeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -23,9 +29,23 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class RecipeServiceEdgeCasesTest {
 
+    private static final Pageable FIRST_PAGE = PageRequest.ofSize(new PaginationProperties().getDefaultPageSize() + 1);
+
     @Mock
     private RecipeRepository recipeRepository;
 
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    @Mock
+    private RecipeSearchIndex recipeSearchIndex;
+
+    @Mock
+    private RecipeResponseCache recipeResponseCache;
+
     @InjectMocks
     private RecipeService recipeService;
 
@@ -42,70 +62,73 @@ class RecipeServiceEdgeCasesTest {
                 .servings(4)
                 .build();
         testRecipe.setIngredientNames(Arrays.asList("Ingredient 1", "Ingredient 2"));
+
+        lenient().when(ingredientRepository.resolve(anyString()))
+                .thenAnswer(invocation -> new Ingredient(invocation.getArgument(0)));
     }
 
     @Test
     void searchRecipes_WithAllNullParameters_ShouldReturnAllRecipes() {
         List<Recipe> expectedRecipes = Arrays.asList(testRecipe);
-        when(recipeRepository.searchRecipes(null, null, null, null, null))
+        when(recipeRepository.searchRecipes(null, null, null, null, null, RecipeCursor.START, FIRST_PAGE))
                 .thenReturn(expectedRecipes);
 
-        List<Recipe> results = recipeService.searchRecipes(null, null, null, null, null);
+        List<Recipe> results = recipeService.searchRecipes(null, null, null, null, null, null, null).getItems();
 
         assertThat(results).hasSize(1);
         assertThat(results.get(0)).isEqualTo(testRecipe);
-        verify(recipeRepository, times(1)).searchRecipes(null, null, null, null, null);
+        verify(recipeRepository, times(1)).searchRecipes(null, null, null, null, null, RecipeCursor.START, FIRST_PAGE);
     }
 
     @Test
     void searchRecipes_WithEmptyIncludeIngredientsList_ShouldCallRepository() {
         List<String> emptyList = Collections.emptyList();
         List<Recipe> expectedRecipes = Arrays.asList(testRecipe);
-        when(recipeRepository.searchRecipes(null, null, emptyList, null, null))
+        when(recipeRepository.searchRecipes(null, null, emptyList, null, null, RecipeCursor.START, FIRST_PAGE))
                 .thenReturn(expectedRecipes);
 
-        List<Recipe> results = recipeService.searchRecipes(null, null, emptyList, null, null);
+        List<Recipe> results = recipeService.searchRecipes(null, null, emptyList, null, null, null, null).getItems();
 
         assertThat(results).hasSize(1);
-        verify(recipeRepository, times(1)).searchRecipes(null, null, emptyList, null, null);
+        verify(recipeRepository, times(1)).searchRecipes(null, null, emptyList, null, null, RecipeCursor.START, FIRST_PAGE);
     }
 
     @Test
     void searchRecipes_WithEmptyExcludeIngredientsList_ShouldCallRepository() {
         List<String> emptyList = Collections.emptyList();
         List<Recipe> expectedRecipes = Arrays.asList(testRecipe);
-        when(recipeRepository.searchRecipes(null, null, null, emptyList, null))
+        when(recipeRepository.searchRecipes(null, null, null, emptyList, null, RecipeCursor.START, FIRST_PAGE))
                 .thenReturn(expectedRecipes);
 
-        List<Recipe> results = recipeService.searchRecipes(null, null, null, emptyList, null);
+        List<Recipe> results = recipeService.searchRecipes(null, null, null, emptyList, null, null, null).getItems();
 
         assertThat(results).hasSize(1);
-        verify(recipeRepository, times(1)).searchRecipes(null, null, null, emptyList, null);
+        verify(recipeRepository, times(1)).searchRecipes(null, null, null, emptyList, null, RecipeCursor.START, FIRST_PAGE);
     }
 
     @Test
     void searchRecipes_WithEmptyContentToFilter_ShouldCallRepository() {
         String emptyContent = "";
         List<Recipe> expectedRecipes = Arrays.asList(testRecipe);
-        when(recipeRepository.searchRecipes(null, null, null, null, emptyContent))
+        when(recipeRepository.searchRecipes(null, null, null, null, emptyContent, RecipeCursor.START, FIRST_PAGE))
                 .thenReturn(expectedRecipes);
 
-        List<Recipe> results = recipeService.searchRecipes(null, null, null, null, emptyContent);
+        List<Recipe> results = recipeService.searchRecipes(null, null, null, null, emptyContent, null, null).getItems();
 
         assertThat(results).hasSize(1);
-        verify(recipeRepository, times(1)).searchRecipes(null, null, null, null, emptyContent);
+        verify(recipeRepository, times(1)).searchRecipes(null, null, null, null, emptyContent, RecipeCursor.START, FIRST_PAGE);
     }
 
     @Test
     void searchRecipes_WithNoMatchingResults_ShouldReturnEmptyList() {
         List<String> includeIngredients = Arrays.asList("nonexistent");
-        when(recipeRepository.searchRecipes(null, null, includeIngredients, null, null))
+        when(recipeRepository.searchRecipes(null, null, includeIngredients, null, null, RecipeCursor.START, FIRST_PAGE))
                 .thenReturn(Collections.emptyList());
 
-        List<Recipe> results = recipeService.searchRecipes(null, null, includeIngredients, null, null);
+        List<Recipe> results = recipeService.searchRecipes(null, null, includeIngredients, null, null, null, null).getItems();
 
         assertThat(results).isEmpty();
-        verify(recipeRepository, times(1)).searchRecipes(null, null, includeIngredients, null, null);
+        verify(recipeRepository, times(1)).searchRecipes(null, null, includeIngredients, null, null, RecipeCursor.START, FIRST_PAGE);
     }
 
     @Test
@@ -235,25 +258,25 @@ class RecipeServiceEdgeCasesTest {
     void searchRecipes_WithVeryLargeServingsNumber_ShouldCallRepository() {
         Integer largeServings = Integer.MAX_VALUE;
         List<Recipe> expectedRecipes = Collections.emptyList();
-        when(recipeRepository.searchRecipes(null, largeServings, null, null, null))
+        when(recipeRepository.searchRecipes(null, largeServings, null, null, null, RecipeCursor.START, FIRST_PAGE))
                 .thenReturn(expectedRecipes);
 
-        List<Recipe> results = recipeService.searchRecipes(null, largeServings, null, null, null);
+        List<Recipe> results = recipeService.searchRecipes(null, largeServings, null, null, null, null, null).getItems();
 
         assertThat(results).isEmpty();
-        verify(recipeRepository, times(1)).searchRecipes(null, largeServings, null, null, null);
+        verify(recipeRepository, times(1)).searchRecipes(null, largeServings, null, null, null, RecipeCursor.START, FIRST_PAGE);
     }
 
     @Test
     void searchRecipes_WithZeroServings_ShouldCallRepository() {
         Integer zeroServings = 0;
         List<Recipe> expectedRecipes = Collections.emptyList();
-        when(recipeRepository.searchRecipes(null, zeroServings, null, null, null))
+        when(recipeRepository.searchRecipes(null, zeroServings, null, null, null, RecipeCursor.START, FIRST_PAGE))
                 .thenReturn(expectedRecipes);
 
-        List<Recipe> results = recipeService.searchRecipes(null, zeroServings, null, null, null);
+        List<Recipe> results = recipeService.searchRecipes(null, zeroServings, null, null, null, null, null).getItems();
 
         assertThat(results).isEmpty();
-        verify(recipeRepository, times(1)).searchRecipes(null, zeroServings, null, null, null);
+        verify(recipeRepository, times(1)).searchRecipes(null, zeroServings, null, null, null, RecipeCursor.START, FIRST_PAGE);
     }
 }
\ No newline at end of file
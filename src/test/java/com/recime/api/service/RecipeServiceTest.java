@@ -1,23 +1,48 @@
 package com.recime.api.service;
 
+import com.recime.api.config.PaginationProperties;
+import com.recime.api.dto.CursorPage;
+import com.recime.api.dto.RecipeSummary;
+import com.recime.api.dto.RecipeVersion;
+import com.recime.api.dto.RecipeView;
+import com.recime.api.entity.Ingredient;
 import com.recime.api.entity.Recipe;
+import com.recime.api.exception.InvalidCursorException;
+import com.recime.api.exception.PreconditionFailedException;
 import com.recime.api.exception.ResourceNotFoundException;
+import com.recime.api.exception.TooManyIdsException;
+import com.recime.api.repository.IngredientRepository;
 import com.recime.api.repository.RecipeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -25,9 +50,23 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class RecipeServiceTest {
 
+    private static final Pageable FIRST_PAGE = PageRequest.ofSize(new PaginationProperties().getDefaultPageSize() + 1);
+
     @Mock
     private RecipeRepository recipeRepository;
 
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    @Mock
+    private RecipeSearchIndex recipeSearchIndex;
+
+    @Mock
+    private RecipeResponseCache recipeResponseCache;
+
     @InjectMocks
     private RecipeService recipeService;
 
@@ -46,6 +85,9 @@ class RecipeServiceTest {
 
         // Set ingredients using helper method
         testRecipe.setIngredientNames(Arrays.asList("Ingredient 1", "Ingredient 2"));
+
+        lenient().when(ingredientRepository.resolve(anyString()))
+                .thenAnswer(invocation -> new Ingredient(invocation.getArgument(0)));
     }
 
     @Test
@@ -59,6 +101,20 @@ class RecipeServiceTest {
         verify(recipeRepository, times(1)).save(testRecipe);
     }
 
+    @Test
+    void createRecipe_ShouldResolveIngredientsAgainstCatalog() {
+        Ingredient catalogEntry = new Ingredient("Ingredient 1");
+        catalogEntry.setId(7);
+        when(ingredientRepository.resolve("Ingredient 1")).thenReturn(catalogEntry);
+        when(recipeRepository.save(any(Recipe.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Recipe savedRecipe = recipeService.createRecipe(testRecipe);
+
+        assertThat(savedRecipe.getIngredients()).first().isSameAs(catalogEntry);
+        assertThat(savedRecipe.getIngredientNames()).containsExactly("Ingredient 1", "Ingredient 2");
+        verify(ingredientRepository).resolve("Ingredient 2");
+    }
+
     @Test
     void getRecipeById_WhenRecipeExists_ShouldReturnRecipe() {
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
@@ -82,16 +138,150 @@ class RecipeServiceTest {
     }
 
     @Test
-    void getAllRecipes_ShouldReturnListOfRecipes() {
+    void getRecipes_ShouldReturnFirstPage() {
         List<Recipe> recipes = Arrays.asList(testRecipe,
                 Recipe.builder().id(2L).title("Recipe 2").build());
-        when(recipeRepository.findAll()).thenReturn(recipes);
+        when(recipeRepository.findPageAfter(RecipeCursor.START, FIRST_PAGE)).thenReturn(recipes);
+
+        CursorPage<Recipe> page = recipeService.getRecipes(null, null);
+
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.getItems().get(0).getTitle()).isEqualTo("Test Recipe");
+        assertThat(page.hasNext()).isFalse();
+        verify(recipeRepository, times(1)).findPageAfter(RecipeCursor.START, FIRST_PAGE);
+    }
+
+    @Test
+    void getRecipes_WhenMoreRowsThanPageSize_ShouldReturnNextCursor() {
+        List<Recipe> recipes = Arrays.asList(testRecipe,
+                Recipe.builder().id(2L).title("Recipe 2").build(),
+                Recipe.builder().id(3L).title("Recipe 3").build());
+        when(recipeRepository.findPageAfter(RecipeCursor.START, PageRequest.ofSize(3))).thenReturn(recipes);
+
+        CursorPage<Recipe> page = recipeService.getRecipes(null, 2);
+
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.getNextCursor()).isNotNull();
+        assertThat(RecipeCursor.decode(page.getNextCursor())).isEqualTo(2L);
+    }
+
+    @Test
+    void getRecipes_WithCursor_ShouldContinueAfterLastId() {
+        when(recipeRepository.findPageAfter(2L, FIRST_PAGE)).thenReturn(Collections.emptyList());
+
+        CursorPage<Recipe> page = recipeService.getRecipes(RecipeCursor.encode(2L), null);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.hasNext()).isFalse();
+        verify(recipeRepository, times(1)).findPageAfter(2L, FIRST_PAGE);
+    }
+
+    @Test
+    void getRecipes_WithOversizedPage_ShouldCapPageSize() {
+        int maxPageSize = paginationProperties.getMaxPageSize();
+        when(recipeRepository.findPageAfter(RecipeCursor.START, PageRequest.ofSize(maxPageSize + 1)))
+                .thenReturn(Collections.emptyList());
+
+        recipeService.getRecipes(null, maxPageSize * 10);
+
+        verify(recipeRepository, times(1)).findPageAfter(RecipeCursor.START, PageRequest.ofSize(maxPageSize + 1));
+    }
+
+    @Test
+    void getRecipes_WithMalformedCursor_ShouldThrowException() {
+        assertThatThrownBy(() -> recipeService.getRecipes("not-a-cursor", null))
+                .isInstanceOf(InvalidCursorException.class);
+
+        verify(recipeRepository, never()).findPageAfter(any(), any());
+    }
+
+    @Test
+    void getRecipeViews_WhenMoreRowsThanPageSize_ShouldReturnNextCursor() {
+        List<RecipeView> views = Arrays.asList(recipeView(1L), recipeView(5L), recipeView(9L));
+        when(recipeRepository.findViewPageAfter(RecipeCursor.START, PageRequest.ofSize(3))).thenReturn(views);
+
+        CursorPage<RecipeView> page = recipeService.getRecipeViews(null, 2);
+
+        assertThat(page.getItems()).extracting(RecipeView::id).containsExactly(1L, 5L);
+        assertThat(RecipeCursor.decode(page.getNextCursor())).isEqualTo(5L);
+    }
+
+    @Test
+    void getRecipeVersions_ShouldPageLikeGetRecipes() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RecipeVersion> versions = Arrays.asList(new RecipeVersion(1L, 0L, now), new RecipeVersion(5L, 0L, now), new RecipeVersion(9L, 0L, now));
+        when(recipeRepository.findVersionPageAfter(RecipeCursor.START, PageRequest.ofSize(3))).thenReturn(versions);
+
+        CursorPage<RecipeVersion> page = recipeService.getRecipeVersions(null, 2);
+
+        assertThat(page.getItems()).extracting(RecipeVersion::id).containsExactly(1L, 5L);
+        assertThat(RecipeCursor.decode(page.getNextCursor())).isEqualTo(5L);
+    }
+
+    @Test
+    void searchRecipeViews_ShouldReturnFilteredViews() {
+        List<String> includeIngredients = Arrays.asList("ingredient 1");
+        when(recipeRepository.searchRecipeViews(true, null, includeIngredients, null, null, RecipeCursor.START, FIRST_PAGE))
+                .thenReturn(Arrays.asList(recipeView(1L)));
+
+        CursorPage<RecipeView> page = recipeService.searchRecipeViews(true, null, includeIngredients, null, null, null, null);
+
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.hasNext()).isFalse();
+        verify(recipeRepository, never()).searchRecipes(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getRecipeSummaries_WhenMoreRowsThanPageSize_ShouldReturnNextCursor() {
+        List<RecipeSummary> summaries = Arrays.asList(recipeSummary(1L), recipeSummary(5L), recipeSummary(9L));
+        when(recipeRepository.findSummaryPageAfter(RecipeCursor.START, PageRequest.ofSize(3))).thenReturn(summaries);
+
+        CursorPage<RecipeSummary> page = recipeService.getRecipeSummaries(null, 2);
+
+        assertThat(page.getItems()).extracting(RecipeSummary::id).containsExactly(1L, 5L);
+        assertThat(RecipeCursor.decode(page.getNextCursor())).isEqualTo(5L);
+    }
+
+    @Test
+    void searchRecipeSummaries_ShouldReturnFilteredSummaries() {
+        when(recipeRepository.searchRecipeSummaries(null, 4, null, null, "boil", RecipeCursor.START, FIRST_PAGE))
+                .thenReturn(Arrays.asList(recipeSummary(1L)));
+
+        CursorPage<RecipeSummary> page = recipeService.searchRecipeSummaries(null, 4, null, null, "boil", null, null);
+
+        assertThat(page.getItems()).extracting(RecipeSummary::id).containsExactly(1L);
+        verify(recipeRepository, never()).searchRecipeViews(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void searchRecipeSummaries_WhenIndexReady_ShouldProjectIndexMatchesOnly() {
+        when(recipeSearchIndex.isReady()).thenReturn(true);
+        when(recipeSearchIndex.search(true, null, null, null, RecipeCursor.START, FIRST_PAGE.getPageSize()))
+                .thenReturn(Arrays.asList(1L));
+        when(recipeRepository.findSummariesByIdIn(Arrays.asList(1L))).thenReturn(Arrays.asList(recipeSummary(1L)));
+
+        CursorPage<RecipeSummary> page = recipeService.searchRecipeSummaries(true, null, null, null, null, null, null);
+
+        assertThat(page.getItems()).extracting(RecipeSummary::id).containsExactly(1L);
+        verify(recipeRepository, never()).searchRecipeSummaries(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void fullTextSearch_ShouldTrimQueryAndUseDefaultPageSize() {
+        when(recipeRepository.fullTextSearch("tomato basil", paginationProperties.getDefaultPageSize()))
+                .thenReturn(Arrays.asList(testRecipe));
+
+        List<Recipe> results = recipeService.fullTextSearch("  tomato basil ", null);
+
+        assertThat(results).containsExactly(testRecipe);
+    }
 
-        List<Recipe> foundRecipes = recipeService.getAllRecipes();
+    @Test
+    void fullTextSearch_WithBlankQuery_ShouldNotHitRepository() {
+        List<Recipe> results = recipeService.fullTextSearch("   ", null);
 
-        assertThat(foundRecipes).hasSize(2);
-        assertThat(foundRecipes.get(0).getTitle()).isEqualTo("Test Recipe");
-        verify(recipeRepository, times(1)).findAll();
+        assertThat(results).isEmpty();
+        verify(recipeRepository, never()).fullTextSearch(any(), anyInt());
     }
 
     @Test
@@ -117,6 +307,119 @@ class RecipeServiceTest {
         verify(recipeRepository, times(1)).save(any(Recipe.class));
     }
 
+    @Test
+    void updateRecipe_ShouldKeepUnchangedIngredientEntries() {
+        Ingredient kept = testRecipe.getIngredients().get(0);
+        Recipe updatedDetails = Recipe.builder().title("Test Recipe").instructions("Test Instructions").build();
+        updatedDetails.setIngredientNames(Arrays.asList("ingredient 1", "Ingredient 3"));
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
+        when(recipeRepository.save(testRecipe)).thenReturn(testRecipe);
+
+        recipeService.updateRecipe(1L, updatedDetails);
+
+        assertThat(testRecipe.getIngredients().get(0)).isSameAs(kept);
+        assertThat(testRecipe.getIngredientNames()).containsExactly("Ingredient 1", "Ingredient 3");
+    }
+
+    @Test
+    void patchIngredients_ShouldAddMissingAndRemoveNamedIngredients() {
+        testRecipe.getIngredients().get(0).setId(1);
+        testRecipe.getIngredients().get(1).setId(2);
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
+        when(recipeRepository.save(testRecipe)).thenReturn(testRecipe);
+        when(ingredientRepository.resolveAll(List.of("Basil"))).thenReturn(Map.of("basil", new Ingredient("Basil")));
+
+        Recipe patched = recipeService.patchIngredients(1L,
+                Arrays.asList("Basil", "INGREDIENT 1"), Arrays.asList("ingredient 2"), null);
+
+        assertThat(patched.getIngredientNames()).containsExactly("Ingredient 1", "Basil");
+        verify(ingredientRepository, never()).resolve(anyString());
+        // The index clears what the recipe held before the patch
+        ArgumentCaptor<RecipeSearchIndex.Attributes> previous = ArgumentCaptor.forClass(RecipeSearchIndex.Attributes.class);
+        verify(recipeSearchIndex, times(1)).index(previous.capture(), eq(testRecipe));
+        assertThat(previous.getValue().ingredientIds()).containsExactly(1, 2);
+    }
+
+    @Test
+    void patchIngredients_ShouldResolveAddedNamesBeforeChangingTheRecipe() {
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
+        when(recipeRepository.save(testRecipe)).thenReturn(testRecipe);
+        when(ingredientRepository.resolveAll(List.of("Basil", "Ingredient 2"))).thenAnswer(invocation -> {
+            assertThat(testRecipe.getIngredientNames()).containsExactly("Ingredient 1", "Ingredient 2");
+            return Map.of("basil", new Ingredient("Basil"), "ingredient 2", new Ingredient("Ingredient 2"));
+        });
+
+        Recipe patched = recipeService.patchIngredients(1L,
+                Arrays.asList("Basil", "Ingredient 2"), Arrays.asList("ingredient 2"), null);
+
+        assertThat(patched.getIngredientNames()).containsExactly("Ingredient 1", "Basil", "Ingredient 2");
+    }
+
+    @Test
+    void patchIngredients_WithStaleVersion_ShouldThrowPreconditionFailed() {
+        testRecipe.setVersion(2L);
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
+
+        assertThatThrownBy(() -> recipeService.patchIngredients(1L, Arrays.asList("Basil"), null, 1L))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(recipeRepository, never()).save(any(Recipe.class));
+    }
+
+    @Test
+    void updateRecipe_WithCurrentVersion_ShouldFlushVersionedUpdate() {
+        testRecipe.setVersion(3L);
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
+        when(recipeRepository.saveAndFlush(testRecipe)).thenReturn(testRecipe);
+
+        Recipe updatedRecipe = recipeService.updateRecipe(1L, testRecipe, 3L);
+
+        assertThat(updatedRecipe).isSameAs(testRecipe);
+        verify(recipeRepository, never()).save(any(Recipe.class));
+    }
+
+    @Test
+    void updateRecipe_WithStaleVersion_ShouldThrowPreconditionFailedWithoutSaving() {
+        testRecipe.setVersion(4L);
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
+
+        assertThatThrownBy(() -> recipeService.updateRecipe(1L, testRecipe, 3L))
+                .isInstanceOf(PreconditionFailedException.class);
+
+        verify(recipeRepository, never()).save(any(Recipe.class));
+        verify(recipeRepository, never()).saveAndFlush(any(Recipe.class));
+    }
+
+    @Test
+    void updateRecipe_WhenConcurrentWriterWins_ShouldThrowPreconditionFailed() {
+        testRecipe.setVersion(3L);
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
+        when(recipeRepository.saveAndFlush(testRecipe))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Recipe.class, 1L));
+
+        assertThatThrownBy(() -> recipeService.updateRecipe(1L, testRecipe, 3L))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(recipeSearchIndex, never()).index(any());
+    }
+
+    @Test
+    void createRecipes_ShouldResolveAllIngredientsInOneLookup() {
+        Recipe other = Recipe.builder().title("Other").instructions("Other").build();
+        other.setIngredientNames(List.of("ingredient 1", "Ingredient 3"));
+        Ingredient first = new Ingredient("Ingredient 1");
+        Ingredient second = new Ingredient("Ingredient 2");
+        Ingredient third = new Ingredient("Ingredient 3");
+        when(ingredientRepository.resolveAll(List.of("Ingredient 1", "Ingredient 2", "ingredient 1", "Ingredient 3")))
+                .thenReturn(Map.of("ingredient 1", first, "ingredient 2", second, "ingredient 3", third));
+        when(recipeRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Recipe> saved = recipeService.createRecipes(List.of(testRecipe, other));
+
+        assertThat(saved.get(0).getIngredients()).containsExactly(first, second);
+        assertThat(saved.get(1).getIngredients()).containsExactly(first, third);
+        verify(ingredientRepository, never()).resolve(anyString());
+        verify(recipeSearchIndex, times(2)).index(any(Recipe.class));
+    }
+
     @Test
     void deleteRecipe_WhenRecipeExists_ShouldDeleteRecipe() {
         when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
@@ -126,6 +429,72 @@ class RecipeServiceTest {
 
         verify(recipeRepository, times(1)).findById(1L);
         verify(recipeRepository, times(1)).delete(testRecipe);
+        verify(recipeSearchIndex, times(1)).remove(testRecipe);
+    }
+
+    @Test
+    void deleteRecipes_ShouldDeleteDistinctIdsInOneStatement() {
+        when(recipeRepository.deleteAllByIdIn(Set.of(1L, 2L))).thenReturn(2);
+
+        int deleted = recipeService.deleteRecipes(Arrays.asList(1L, 2L, 1L, null));
+
+        assertThat(deleted).isEqualTo(2);
+        verify(recipeRepository, never()).findById(any());
+        verify(recipeSearchIndex, times(1)).removeAll(Set.of(1L, 2L));
+    }
+
+    @Test
+    void getRecipesByIds_WithMoreIdsThanMaxPageSize_ShouldThrowTooManyIds() {
+        paginationProperties.setMaxPageSize(2);
+
+        assertThatThrownBy(() -> recipeService.getRecipesByIds(List.of(1L, 2L, 3L)))
+                .isInstanceOf(TooManyIdsException.class);
+        verify(recipeRepository, never()).findAllByIdInOrderById(any());
+    }
+
+    @Test
+    void getRecipesByIds_WithNoIds_ShouldNotQuery() {
+        assertThat(recipeService.getRecipesByIds(List.of())).isEmpty();
+        verify(recipeRepository, never()).findAllByIdInOrderById(any());
+    }
+
+    @Test
+    void searchRecipes_WhenIndexReady_ShouldHydrateIndexMatchesOnly() {
+        when(recipeSearchIndex.isReady()).thenReturn(true);
+        when(ingredientRepository.findIdsByNames(Arrays.asList("Ingredient 1"))).thenReturn(Arrays.asList(7));
+        when(recipeSearchIndex.search(true, null, Arrays.asList(7), null, RecipeCursor.START, FIRST_PAGE.getPageSize()))
+                .thenReturn(Arrays.asList(1L));
+        when(recipeRepository.findAllByIdInOrderById(Arrays.asList(1L))).thenReturn(Arrays.asList(testRecipe));
+
+        CursorPage<Recipe> page = recipeService.searchRecipes(true, null, Arrays.asList("Ingredient 1"), null, null, null, null);
+
+        assertThat(page.getItems()).containsExactly(testRecipe);
+        verify(recipeRepository, never()).searchRecipes(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void searchRecipes_WhenIndexedRecipeIsGone_ShouldKeepTheCursorOfTheMatchedIds() {
+        when(recipeSearchIndex.isReady()).thenReturn(true);
+        when(recipeSearchIndex.search(true, null, null, null, RecipeCursor.START, 3)).thenReturn(Arrays.asList(1L, 2L, 3L));
+        // Recipe 2 was deleted since it was indexed
+        when(recipeRepository.findAllByIdInOrderById(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(testRecipe));
+
+        CursorPage<Recipe> page = recipeService.searchRecipes(true, null, null, null, null, null, 2);
+
+        assertThat(page.getItems()).containsExactly(testRecipe);
+        assertThat(page.getNextCursor()).isEqualTo(RecipeCursor.encode(2L));
+    }
+
+    @Test
+    void searchRecipes_WhenIndexReadyAndContentFiltered_ShouldQueryDatabase() {
+        when(recipeSearchIndex.isReady()).thenReturn(true);
+        when(recipeRepository.searchRecipes(null, null, null, null, "boil", RecipeCursor.START, FIRST_PAGE))
+                .thenReturn(Arrays.asList(testRecipe));
+
+        CursorPage<Recipe> page = recipeService.searchRecipes(null, null, null, null, "boil", null, null);
+
+        assertThat(page.getItems()).containsExactly(testRecipe);
+        verify(recipeSearchIndex, never()).search(any(), any(), any(), any(), any(), anyInt());
     }
 
     @Test
@@ -134,14 +503,23 @@ class RecipeServiceTest {
         List<String> includeIngredients = Arrays.asList("Ingredient 1");
         List<String> excludeIngredients = Arrays.asList("Unwanted Ingredient");
 
-        when(recipeRepository.searchRecipes(true, 4, includeIngredients, excludeIngredients, null))
+        when(recipeRepository.searchRecipes(true, 4, includeIngredients, excludeIngredients, null, RecipeCursor.START, FIRST_PAGE))
                 .thenReturn(filteredRecipes);
 
-        List<Recipe> results = recipeService.searchRecipes(true, 4, includeIngredients, excludeIngredients, null);
+        List<Recipe> results = recipeService.searchRecipes(true, 4, includeIngredients, excludeIngredients, null, null, null).getItems();
 
         assertThat(results).hasSize(1);
         assertThat(results.get(0).getTitle()).isEqualTo("Test Recipe");
         verify(recipeRepository, times(1))
-                .searchRecipes(true, 4, includeIngredients, excludeIngredients, null);
+                .searchRecipes(true, 4, includeIngredients, excludeIngredients, null, RecipeCursor.START, FIRST_PAGE);
+    }
+
+    private RecipeView recipeView(Long id) {
+        return new RecipeView(id, "Recipe " + id, null, Arrays.asList("Ingredient 1"), "Instructions",
+                true, 4, null, null, 0L);
+    }
+
+    private RecipeSummary recipeSummary(Long id) {
+        return new RecipeSummary(id, "Recipe " + id, true, 4, null, null, 0L);
     }
 }
\ No newline at end of file